@@ -0,0 +1,65 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+
+// BookIssueService.approveIssue over a fresh batch of REQUESTED issues each iteration
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, batchSize = ApproveIssueBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = ApproveIssueBenchmark.BATCH)
+public class ApproveIssueBenchmark {
+
+    static final int BATCH = 1_000;
+
+    @Param("10000")
+    public int catalogSize;
+
+    private BookIssueService bookIssueService;
+    private long minBookId;
+    private long maxBookId;
+    private final ArrayDeque<Long> pending = new ArrayDeque<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkApplication.start(catalogSize);
+        bookIssueService = BenchmarkApplication.bean(BookIssueService.class);
+        JdbcTemplate jdbc = BenchmarkApplication.bean(JdbcTemplate.class);
+        minBookId = jdbc.queryForObject("SELECT MIN(id) FROM books", Long.class);
+        maxBookId = jdbc.queryForObject("SELECT MAX(id) FROM books", Long.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void createRequests() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        pending.clear();
+        for (int i = 0; i < BATCH; i++) {
+            String rollNo = BenchmarkApplication.rollNo(random.nextInt(BenchmarkApplication.STUDENTS));
+            pending.add(bookIssueService.requestBook(rollNo, random.nextLong(minBookId, maxBookId + 1)).getId());
+        }
+    }
+
+    @Benchmark
+    public void approveIssue() {
+        bookIssueService.approveIssue(pending.poll());
+    }
+}
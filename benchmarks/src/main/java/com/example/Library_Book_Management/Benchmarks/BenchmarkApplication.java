@@ -0,0 +1,124 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Library_Book_Management.LibraryBookManagementApplication;
+import com.example.Library_Book_Management.BookIssue.BookAvailabilityTracker;
+import com.example.Library_Book_Management.Books.BookSearchIndex;
+
+/**
+ * Starts the real application once per benchmark JVM against an embedded H2
+ * database and seeds a synthetic catalog of the requested size.
+ */
+final class BenchmarkApplication {
+
+    static final int STUDENTS = 1_000;
+
+    private static final String[] WORDS = {
+            "introduction", "data", "structures", "algorithms", "history", "modern", "physics", "chemistry",
+            "java", "python", "systems", "design", "networks", "theory", "applied", "mathematics", "calculus",
+            "linear", "algebra", "economics", "principles", "world", "war", "art", "music", "literature",
+            "english", "poetry", "database", "operating", "compiler", "machine", "learning", "deep", "statistics",
+            "probability", "biology", "genetics", "ecology", "marketing", "finance", "accounting", "law",
+            "philosophy", "ethics", "psychology", "sociology", "harry", "potter", "lord", "rings", "hobbit",
+            "guide", "handbook", "advanced", "fundamentals", "practical", "complete", "essential", "concepts"
+    };
+    private static final String[] FIRST_NAMES = {
+            "jane", "john", "maria", "ahmed", "li", "priya", "carlos", "anna", "kenji", "olga", "david", "fatima"
+    };
+    private static final String[] LAST_NAMES = {
+            "austen", "smith", "garcia", "khan", "wang", "sharma", "lopez", "ivanova", "tanaka", "knuth", "rowling"
+    };
+
+    private static ConfigurableApplicationContext context;
+    private static int seededCatalogSize = -1;
+
+    private BenchmarkApplication() {
+    }
+
+    static synchronized ConfigurableApplicationContext start(int catalogSize) {
+        if (context == null) {
+            context = new SpringApplicationBuilder(LibraryBookManagementApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "spring.datasource.username=sa",
+                            "spring.datasource.password=",
+                            "spring.jpa.hibernate.ddl-auto=create-drop",
+                            "spring.flyway.enabled=false",
+                            "application.security.jwt.secret-key=YmVuY2htYXJrLW9ubHktc2VjcmV0LWtleS1mb3ItbGlicmFyeS1tYW5hZ2VtZW50IQ==",
+                            "logging.level.root=WARN")
+                    .run();
+        }
+        if (seededCatalogSize != catalogSize) {
+            seed(catalogSize);
+            seededCatalogSize = catalogSize;
+        }
+        return context;
+    }
+
+    static <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    static String rollNo(int index) {
+        return "BENCH-" + index;
+    }
+
+    private static void seed(int catalogSize) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.execute("DELETE FROM book_issue");
+        jdbc.execute("DELETE FROM students");
+        jdbc.execute("DELETE FROM books");
+
+        Random random = new Random(42);
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            // Large copy counts so request benchmarks never run out of copies
+            books.add(new Object[]{title(random), author(random), 1_000_000, 1_000_000});
+            if (books.size() == 5_000) {
+                insertBooks(jdbc, books);
+                books.clear();
+            }
+        }
+        insertBooks(jdbc, books);
+
+        List<Object[]> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Object[]{"Bench Student " + i, "bench" + i + "@bench.local", rollNo(i), "CSE"});
+        }
+        jdbc.batchUpdate("INSERT INTO students (name, email, roll_no, department) VALUES (?, ?, ?, ?)", students);
+
+        context.getBean(BookSearchIndex.class).rebuild();
+        context.getBean(BookAvailabilityTracker.class).seed();
+    }
+
+    private static void insertBooks(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO books (id, book_name, author, copies, available_copies, is_issued) "
+                + "VALUES (nextval('book_sequence'), ?, ?, ?, ?, false)", rows);
+    }
+
+    private static String title(Random random) {
+        int words = 2 + random.nextInt(3);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return title.toString();
+    }
+
+    private static String author(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+}
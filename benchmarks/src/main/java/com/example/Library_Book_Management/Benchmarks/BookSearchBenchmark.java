@@ -0,0 +1,56 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Library_Book_Management.Books.BookSearchIndex;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksService;
+
+// BooksService.getBooks(search): index lookup + loading the matched rows; indexOnly isolates the in-memory part
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookSearchBenchmark {
+
+    @Param("10000")
+    public int catalogSize;
+
+    @Param({"har", "data structures", "intro alg", "knuth", "nomatchatall"})
+    public String query;
+
+    private BooksService booksService;
+    private BookSearchIndex searchIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkApplication.start(catalogSize);
+        booksService = BenchmarkApplication.bean(BooksService.class);
+        searchIndex = BenchmarkApplication.bean(BookSearchIndex.class);
+    }
+
+    @Benchmark
+    public List<Books> getBooks() {
+        return booksService.getBooks(query);
+    }
+
+    @Benchmark
+    public List<Long> indexOnly() {
+        return searchIndex.search(query);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+
+// BookIssueService.requestBook: student lookup, availability check, conditional reservation, insert
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CirculationBenchmark {
+
+    @Param("10000")
+    public int catalogSize;
+
+    private BookIssueService bookIssueService;
+    private long minBookId;
+    private long maxBookId;
+
+    @Setup
+    public void setup() {
+        BenchmarkApplication.start(catalogSize);
+        bookIssueService = BenchmarkApplication.bean(BookIssueService.class);
+        JdbcTemplate jdbc = BenchmarkApplication.bean(JdbcTemplate.class);
+        minBookId = jdbc.queryForObject("SELECT MIN(id) FROM books", Long.class);
+        maxBookId = jdbc.queryForObject("SELECT MAX(id) FROM books", Long.class);
+    }
+
+    @Benchmark
+    public BookIssue requestBook() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String rollNo = BenchmarkApplication.rollNo(random.nextInt(BenchmarkApplication.STUDENTS));
+        long bookId = random.nextLong(minBookId, maxBookId + 1);
+        return bookIssueService.requestBook(rollNo, bookId);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.example.Library_Book_Management.Config.JWTFilter;
+import com.example.Library_Book_Management.Config.JWTService;
+import com.example.Library_Book_Management.User.Role;
+import com.example.Library_Book_Management.User.User;
+import com.example.Library_Book_Management.User.UserRepo;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.ServletException;
+
+// Token issue/verification and the per-request JWTFilter cost.
+// legacyLookup reproduces the old filter path (three parses + a user lookup) for comparison.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    private static final String EMAIL = "librarian@bench.local";
+
+    private JWTService jwtService;
+    private JWTFilter jwtFilter;
+    private UserDetailsService userDetailsService;
+    private UserDetails user;
+    private String token;
+    private String role;
+    private final AtomicLong tokenId = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        BenchmarkApplication.start(0);
+        jwtService = BenchmarkApplication.bean(JWTService.class);
+        jwtFilter = BenchmarkApplication.bean(JWTFilter.class);
+        userDetailsService = BenchmarkApplication.bean(UserDetailsService.class);
+
+        UserRepo userRepo = BenchmarkApplication.bean(UserRepo.class);
+        user = userRepo.findByEmail(EMAIL).orElseGet(() -> userRepo.save(User.builder()
+                .firstname("Bench")
+                .lastname("Librarian")
+                .email(EMAIL)
+                .password("unused")
+                .role(Role.LIBRARIAN)
+                .build()));
+        token = jwtService.generateToken(user);
+        role = user.getAuthorities().iterator().next().getAuthority();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public boolean legacyLookup() {
+        String email = jwtService.extractUsername(token);
+        UserDetails details = userDetailsService.loadUserByUsername(email);
+        return jwtService.isTokenValid(token, details);
+    }
+
+    // Same token every call, so after the first request this is the authentication cache hit path
+    @Benchmark
+    public Authentication filterCachedToken() throws ServletException, IOException {
+        return filter(token);
+    }
+
+    // Fresh token every call: signature check + principal from claims (includes generateToken's cost).
+    // Tokens issued in the same second would otherwise be byte-identical and hit the cache, so each
+    // one gets its own jti.
+    @Benchmark
+    public Authentication filterNewToken() throws ServletException, IOException {
+        return filter(jwtService.generateToken(
+                Map.of("role", role, Claims.ID, Long.toString(tokenId.incrementAndGet())), user));
+    }
+
+    private Authentication filter(String jwt) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/book");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
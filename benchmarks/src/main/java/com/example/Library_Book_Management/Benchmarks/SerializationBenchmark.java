@@ -0,0 +1,87 @@
+package com.example.Library_Book_Management.Benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.BookIssueView;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Student.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// JSON cost of an issue listing with the application's ObjectMapper: entity graph vs the flat view DTO
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookIssue> entities;
+    private List<BookIssueView> views;
+
+    @Setup
+    public void setup() {
+        BenchmarkApplication.start(0);
+        objectMapper = BenchmarkApplication.bean(ObjectMapper.class);
+
+        LocalDate today = LocalDate.now();
+        entities = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Student student = Student.builder()
+                    .id(i)
+                    .name("Bench Student " + i)
+                    .email("bench" + i + "@bench.local")
+                    .rollNo(BenchmarkApplication.rollNo((int) i))
+                    .department("CSE")
+                    .build();
+            Books book = new Books("Introduction to Algorithms " + i, "Thomas Cormen", 5);
+            book.setId(i);
+
+            BookIssue issue = new BookIssue();
+            issue.setId(i);
+            issue.setStudent(student);
+            issue.setBook(book);
+            issue.setRequestDate(today);
+            issue.setIssueDate(today);
+            issue.setDueDate(today.plusDays(14));
+            issue.setStatus(IssueStatus.ISSUED);
+            entities.add(issue);
+            views.add(new BookIssueView(i, IssueStatus.ISSUED, today, today, today.plusDays(14), null,
+                    student.getId(), student.getName(), student.getEmail(), student.getRollNo(), student.getDepartment(),
+                    book.getId(), book.getBookName(), book.getAuthor()));
+        }
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -9,6 +9,7 @@ import {
   UserIcon, 
   CalendarIcon, 
   HandRaisedIcon,
+  QueueListIcon,
   PencilSquareIcon,
   CheckIcon,       
   XMarkIcon
@@ -18,6 +19,7 @@ import { formatDate } from "../lib/utils";
 export default function BookCard({ book, onDelete , onUpdate}) {
   const [deleting, setDeleting] = useState(false);
   const [requesting, setRequesting] = useState(false);
+  const [holding, setHolding] = useState(false);
 
   const [isEditing, setIsEditing] = useState(false);
   const [editForm , setEditForm]= useState({
@@ -74,6 +76,34 @@ const handleRequest = async () => {
     }
 };
 
+// Fully booked: join the hold queue, then long-poll until a returned copy is reserved for us
+const handleHold = async () => {
+    const myRollNo = localStorage.getItem("rollNo");
+    if (!myRollNo) {
+        toast.error("Roll Number not found. Please log in again.");
+        return;
+    }
+
+    setHolding(true);
+    try {
+        const { data: hold } = await api.post(`/holds/book/${book.id}?rollNo=${encodeURIComponent(myRollNo)}`);
+        toast.success(`Added to the waitlist (position ${hold.position})`);
+
+        let status = hold.status;
+        while (status === "WAITING") {
+            const { data } = await api.get(`/holds/${hold.holdId}/await?rollNo=${encodeURIComponent(myRollNo)}`);
+            status = data?.status;
+        }
+        if (status === "PROMOTED") {
+            toast.success(`"${book.bookName}" is now requested for you!`);
+        }
+    } catch (err) {
+        toast.error(err.response?.data || "Could not join the waitlist");
+    } finally {
+        setHolding(false);
+    }
+};
+
   return (
   <article className="group flex flex-col justify-between rounded-2xl border border-gray-200 bg-white p-5 shadow-sm transition-all hover:-translate-y-1 hover:shadow-md">
       <div>
@@ -137,6 +167,18 @@ const handleRequest = async () => {
             </button>
           )}
 
+          {/* STUDENT: Waitlist Button (all copies busy) */}
+          {book.isIssued && (role !== "LIBRARIAN" && role !== "Librarian") && (
+            <button
+              onClick={handleHold}
+              disabled={holding}
+              className="text-amber-600 hover:bg-amber-50 px-3 py-1.5 rounded-lg"
+              title="Join the waitlist"
+            >
+              {holding ? "..." : <QueueListIcon className="h-4 w-4" />}
+            </button>
+          )}
+
           {/* LIBRARIAN ACTIONS */}
           {(role === "LIBRARIAN" || role === "Librarian") && (
             <>
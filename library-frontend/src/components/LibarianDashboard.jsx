@@ -1,5 +1,6 @@
 import { useState, useEffect } from "react";
 import api from "../services/api";
+import { subscribeToCirculation } from "../services/circulationEvents";
 import Loader from "../components/Loader";
 import { 
   CheckCircleIcon, 
@@ -38,6 +39,23 @@ export default function LibrarianDashboard() {
     fetchData();
   }, [view]); 
 
+  // Live updates pushed by the server instead of refetching the lists
+  useEffect(() => {
+    const applyEvent = (type, event) => {
+      const issue = event.issue;
+      if (!issue) {
+        fetchData(); // bulk desk batch: no row details in the event
+        return;
+      }
+      const without = (list) => list.filter((item) => item.id !== issue.id);
+      setRequests((list) => (issue.status === "REQUESTED" ? [...without(list), issue] : without(list)));
+      setActiveLoans((list) =>
+        issue.status === "ISSUED" || issue.status === "OVERDUE" ? [...without(list), issue] : without(list)
+      );
+    };
+    return subscribeToCirculation(applyEvent, fetchData);
+  }, [view]);
+
 
   const handleApprove = async (issueId) => {
     try {
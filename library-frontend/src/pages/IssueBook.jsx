@@ -45,7 +45,7 @@ export default function IssueBook() {
       setRequests(reqRes.data || []);
       
       const allTransactions = historyRes.data || [];
-      const currentlyIssued = allTransactions.filter(item => item.status === "ISSUED");
+      const currentlyIssued = allTransactions.filter(item => item.status === "ISSUED" || item.status === "OVERDUE");
       setActiveLoans(currentlyIssued);
 
     } catch (err) {
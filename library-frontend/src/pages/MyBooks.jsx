@@ -33,6 +33,7 @@ export default function MyBooks() {
   const getStatusColor = (status) => {
     switch (status) {
       case "ISSUED": return "bg-green-100 text-green-700 border-green-200";
+      case "OVERDUE": return "bg-red-100 text-red-700 border-red-200";
       case "REQUESTED": return "bg-amber-100 text-amber-700 border-amber-200";
       case "RETURNED": return "bg-gray-100 text-gray-600 border-gray-200";
       case "REJECTED": return "bg-red-50 text-red-600 border-red-100";
@@ -73,7 +74,7 @@ export default function MyBooks() {
                       {issue.status}
                     </span>
                     
-                    {issue.status === "ISSUED" && issue.dueDate && (
+                    {(issue.status === "ISSUED" || issue.status === "OVERDUE") && issue.dueDate && (
                       <span className="flex items-center gap-1 text-orange-600 bg-orange-50 px-2 py-1 rounded-full border border-orange-100">
                         <ClockIcon className="w-3 h-3" /> Due: {formatDate(issue.dueDate)}
                       </span>
@@ -0,0 +1,61 @@
+const baseURL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
+
+// Subscribes to GET /issue/events (Server-Sent Events). EventSource cannot send the
+// Authorization header, so the stream is read with fetch. onEvent gets (type, payload);
+// onReconnect runs after the stream drops, so callers can reload their lists once.
+// Returns a function that closes the stream.
+export function subscribeToCirculation(onEvent, onReconnect) {
+    const controller = new AbortController();
+
+    const connect = async () => {
+        while (!controller.signal.aborted) {
+            try {
+                const token = localStorage.getItem('token');
+                const res = await fetch(`${baseURL}/issue/events`, {
+                    headers: token ? { Authorization: `Bearer ${token}` } : {},
+                    signal: controller.signal,
+                });
+                if (!res.ok || !res.body) {
+                    throw new Error(`Event stream failed: ${res.status}`);
+                }
+
+                const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value;
+                    let end;
+                    while ((end = buffer.indexOf('\n\n')) >= 0) {
+                        dispatch(buffer.slice(0, end), onEvent);
+                        buffer = buffer.slice(end + 2);
+                    }
+                }
+            } catch (err) {
+                if (controller.signal.aborted) return;
+                console.warn('Circulation stream closed', err);
+            }
+            // Reconnect after a pause; events missed meanwhile are picked up by a reload
+            await new Promise((resolve) => setTimeout(resolve, 3000));
+            if (!controller.signal.aborted && onReconnect) onReconnect();
+        }
+    };
+
+    connect();
+    return () => controller.abort();
+}
+
+function dispatch(block, onEvent) {
+    let type = 'message';
+    const data = [];
+    for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) type = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5));
+    }
+    if (data.length === 0) return; // keep-alive comment
+    try {
+        onEvent(type, JSON.parse(data.join('\n')));
+    } catch (err) {
+        console.warn('Bad circulation event', err);
+    }
+}
@@ -0,0 +1,49 @@
+// k6 load test: read-heavy mix of catalog and librarian dashboard calls.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=... -e PASSWORD=... catalog-and-circulation.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 500);
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: '2m', target: VUS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/login`, JSON.stringify({
+    email: __ENV.EMAIL,
+    password: __ENV.PASSWORD,
+  }), { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'logged in': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+const SEARCHES = ['har', 'the', 'data', 'java', 'history', 'intro'];
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  const pick = Math.random();
+  let res;
+  if (pick < 0.5) {
+    res = http.get(`${BASE_URL}/book`, Object.assign({ tags: { name: 'GET /book' } }, params));
+  } else if (pick < 0.8) {
+    const term = SEARCHES[Math.floor(Math.random() * SEARCHES.length)];
+    res = http.get(`${BASE_URL}/book?search=${term}`, Object.assign({ tags: { name: 'GET /book?search' } }, params));
+  } else {
+    res = http.get(`${BASE_URL}/issue/pending`, Object.assign({ tags: { name: 'GET /issue/pending' } }, params));
+  }
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
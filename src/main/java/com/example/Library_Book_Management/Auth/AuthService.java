@@ -1,12 +1,15 @@
 package com.example.Library_Book_Management.Auth;
 
 import com.example.Library_Book_Management.Config.JWTService;
+import com.example.Library_Book_Management.Config.PasswordHashingBusyException;
 import com.example.Library_Book_Management.Student.Student;
 import com.example.Library_Book_Management.Student.StudentRepository;
 import com.example.Library_Book_Management.User.Role;
 import com.example.Library_Book_Management.User.User;
 import com.example.Library_Book_Management.User.UserRepo;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -23,16 +27,21 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JWTService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
 
     @Transactional 
     public AuthResponse registerRequest(RegisterRequest request) {
-      
-        System.out.println("👉 Registering User: " + request.getEmail());
+        // Normalize once on write so every later lookup is an exact, indexed match
+        String email = User.normalizeEmail(request.getEmail());
+        log.debug("Registering user {}", email);
+        if (userRepo.findByEmail(email).isPresent()) {
+            throw new IllegalStateException("Email " + email + " is already registered");
+        }
 
         User user = User.builder()
                 .firstname(request.getFirstname())
                 .lastname(request.getLastname())
-                .email(request.getEmail())
+                .email(email)
                 .password(passwordEncoder.encode(request.getPassword()))
                 .role(request.getRole())
                 .build();
@@ -42,11 +51,11 @@ public class AuthService {
         String rollNo = null;
 
         if (request.getRole() == Role.STUDENT) {
-            System.out.println("👉 Creating Student Profile for: " + request.getRollNo());
-            
+            log.debug("Creating student profile for roll no {}", request.getRollNo());
+
             var student = Student.builder()
                     .name(request.getFirstname() + " " + request.getLastname())
-                    .email(request.getEmail())
+                    .email(email)
                     .department(request.getDepartment())
                     .rollNo(request.getRollNo())        
                     .currentYear(request.getCurrentYear())
@@ -69,7 +78,7 @@ public class AuthService {
     }
 
     public AuthResponse authRequest(AuthRequest request) {
-        System.out.println("👉 Login Attempt for: [" + request.getEmail() + "]");
+        log.debug("Login attempt for {}", request.getEmail());
 
         try {
             authenticationManager.authenticate(
@@ -79,22 +88,23 @@ public class AuthService {
                     )
             );
       
-            User user = userRepo.findByEmail(request.getEmail())
+            String email = User.normalizeEmail(request.getEmail());
+            User user = userRepo.findByEmail(email)
                     .orElseThrow(() -> new IllegalArgumentException("User found in Auth but not in DB"));
 
             var jwtToken = jwtService.generateToken(user);
-            System.out.println("✅ Login Successful. Token Generated.");
-
+            log.debug("Login successful for {}", email);
             
             String rollNo = null;
             if (user.getRole() == Role.STUDENT) {
                
-                var student = studentRepo.findByEmail(request.getEmail());
+                var student = studentRepo.findByEmail(email);
                 if (student.isPresent()) {
                     rollNo = student.get().getRollNo();
                 }
             }
             
+            countLogin("success");
             return AuthResponse.builder()
                     .token(jwtToken)
                     .role(user.getRole().name()) 
@@ -103,8 +113,29 @@ public class AuthService {
                     .build();
 
         } catch (Exception e) {
-            System.out.println("❌ Login Failed: " + e.getMessage());
+            // Saturated hashing pool is not a wrong password: let it surface as 429
+            PasswordHashingBusyException busy = findBusy(e);
+            if (busy != null) {
+                countLogin("throttled");
+                throw busy;
+            }
+            countLogin("failure");
+            log.info("Login failed for {}: {}", request.getEmail(), e.getMessage());
             throw new BadCredentialsException("Invalid Email or Password");
         }
     }
+
+    private void countLogin(String outcome) {
+        meterRegistry.counter("library.auth.logins", "outcome", outcome).increment();
+    }
+
+    // Spring Security sometimes wraps encoder exceptions (e.g. InternalAuthenticationServiceException)
+    private PasswordHashingBusyException findBusy(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PasswordHashingBusyException busy) {
+                return busy;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
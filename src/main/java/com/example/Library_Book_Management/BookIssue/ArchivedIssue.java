@@ -0,0 +1,48 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Student.Student;
+
+// A closed (RETURNED or REJECTED) issue moved out of book_issue by IssueArchiver. Keeps its original id.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "book_issue_archive", indexes = {
+        @Index(name = "ix_book_issue_archive_student", columnList = "student_id, id")
+})
+public class ArchivedIssue {
+
+    @Id
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne
+    @JoinColumn(name = "books_id", nullable = false)
+    private Books book;
+
+    private LocalDate requestDate;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IssueStatus status;
+
+    private LocalDate fineAccruedThrough;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
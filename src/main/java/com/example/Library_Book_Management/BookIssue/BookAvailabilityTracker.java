@@ -0,0 +1,150 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live "copies in use" counter per book id, so issuing a book does not need a
+ * COUNT over book_issue. Seeded from the database on startup and reconciled
+ * against it periodically.
+ *
+ * The counter is a fast in-memory pre-check; books.available_copies
+ * (BooksRepository.reserveCopy) is what actually guarantees no overselling.
+ */
+@Slf4j
+@Component
+public class BookAvailabilityTracker {
+
+    private final BookIssueRepository bookIssueRepository;
+    private final ConcurrentHashMap<Long, AtomicInteger> inUse = new ConcurrentHashMap<>();
+
+    // Drift seen on the previous reconcile run; only drift that survives two runs is corrected,
+    // so transactions that were in flight during a run are not "fixed" by mistake
+    private Map<Long, Integer> pendingDrift = Map.of();
+
+    @Autowired
+    public BookAvailabilityTracker(BookIssueRepository bookIssueRepository) {
+        this.bookIssueRepository = bookIssueRepository;
+    }
+
+    @PostConstruct
+    public void seed() {
+        Map<Long, Integer> counts = loadFromDatabase();
+        inUse.clear();
+        counts.forEach((bookId, count) -> inUse.put(bookId, new AtomicInteger(count)));
+        log.info("Availability counters seeded for {} books", counts.size());
+    }
+
+    // Reserve one copy if fewer than totalCopies are in use. Lock-free (CAS per book).
+    public boolean tryAcquire(Long bookId, int totalCopies) {
+        AtomicInteger counter = inUse.computeIfAbsent(bookId, id -> new AtomicInteger());
+        while (true) {
+            int current = counter.get();
+            if (current >= totalCopies) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Give a copy back (reject / return, or a reservation that was rolled back)
+    public void release(Long bookId) {
+        AtomicInteger counter = inUse.get(bookId);
+        if (counter != null) {
+            counter.updateAndGet(current -> current > 0 ? current - 1 : 0);
+        }
+    }
+
+    // Inside a transaction: undo a tryAcquire if the transaction rolls back
+    public void releaseOnRollback(Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(bookId);
+                }
+            }
+        });
+    }
+
+    // Inside a transaction: give the copy back only once the transaction has committed
+    public void releaseAfterCommit(Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(bookId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(bookId);
+            }
+        });
+    }
+
+    public int inUse(Long bookId) {
+        AtomicInteger counter = inUse.get(bookId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    // Book was deleted, nothing left to track
+    public void forget(Long bookId) {
+        inUse.remove(bookId);
+    }
+
+    @Scheduled(
+            initialDelayString = "${library.availability.reconcile-interval-ms:300000}",
+            fixedDelayString = "${library.availability.reconcile-interval-ms:300000}"
+    )
+    public synchronized void reconcile() {
+        Map<Long, Integer> actual = loadFromDatabase();
+
+        Map<Long, Integer> drift = new HashMap<>();
+        for (Long bookId : inUse.keySet()) {
+            actual.putIfAbsent(bookId, 0);
+        }
+        actual.forEach((bookId, count) -> {
+            int tracked = inUse(bookId);
+            if (tracked != count) {
+                drift.put(bookId, count);
+            }
+        });
+
+        if (drift.isEmpty()) {
+            pendingDrift = Map.of();
+            return;
+        }
+
+        drift.forEach((bookId, count) -> {
+            log.warn("Availability drift for book {}: counter={}, database={}", bookId, inUse(bookId), count);
+            if (count.equals(pendingDrift.get(bookId))) {
+                inUse.computeIfAbsent(bookId, id -> new AtomicInteger()).set(count);
+                log.warn("Availability counter for book {} corrected to {}", bookId, count);
+            }
+        });
+        pendingDrift = drift;
+    }
+
+    private Map<Long, Integer> loadFromDatabase() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (BookUsage usage : bookIssueRepository.countInUseGroupedByBook(IssueStatus.ACTIVE)) {
+            counts.put(usage.getBookId(), usage.getInUse().intValue());
+        }
+        return counts;
+    }
+}
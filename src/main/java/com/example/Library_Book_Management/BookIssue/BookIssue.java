@@ -1,6 +1,8 @@
 package com.example.Library_Book_Management.BookIssue;
 
 import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +15,13 @@ import com.example.Library_Book_Management.Student.Student; // Or User if you re
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name="book_issue")
+@Table(name="book_issue", indexes = {
+        // Overdue scan (status = ISSUED and due_date < today) and status listings
+        @Index(name = "ix_book_issue_status_due_date", columnList = "status, dueDate, id"),
+        // Student history
+        @Index(name = "ix_book_issue_student_request_date", columnList = "student_id, requestDate")
+        // ix_book_issue_active_book and ix_book_issue_closed are partial, so they only exist in the migrations (V9, V11)
+})
 public class BookIssue {
 
     @Id
@@ -35,5 +43,9 @@ public class BookIssue {
     private LocalDate returnDate;  // When it was actually returned
 
     @Enumerated(EnumType.STRING)
-    private IssueStatus status;    // REQUESTED, ISSUED, RETURNED, REJECTED
+    private IssueStatus status;    // REQUESTED, ISSUED, OVERDUE, RETURNED, REJECTED
+
+    // Fines have been charged up to and including this day (Fine/FineService)
+    @JsonIgnore
+    private LocalDate fineAccruedThrough;
 }
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Library_Book_Management.BookIssue.BulkResult.ItemResult;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BookAvailability;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Books.BooksService;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Fine.FineCharge;
+import com.example.Library_Book_Management.Fine.FineService;
+import com.example.Library_Book_Management.Hold.HoldService;
+import com.example.Library_Book_Management.Student.StudentRepository;
+import com.example.Library_Book_Management.Student.StudentRollNo;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Circulation desk batches: issue or return a whole class set in one call.
+ *
+ * Students, books and issues are resolved with one query each, availability is
+ * checked for the whole batch, and the writes go out as JDBC batches (book_issue
+ * ids are IDENTITY, which stops Hibernate from batching the inserts). Items that
+ * cannot be processed are reported individually; the rest commit together.
+ */
+@Service
+public class BookIssueBulkService {
+
+    private static final String RESERVE_COPIES =
+            "UPDATE books SET available_copies = available_copies - :count WHERE id = :id AND available_copies >= :count";
+    private static final String RELEASE_COPIES =
+            "UPDATE books SET available_copies = LEAST(copies, available_copies + :count) WHERE id = :id AND available_copies < copies";
+    private static final String INSERT_ISSUE =
+            "INSERT INTO book_issue (student_id, books_id, status, issue_date, due_date) VALUES (:studentId, :bookId, :status, :issueDate, :dueDate)";
+    private static final String RETURN_ISSUE =
+            "UPDATE book_issue SET status = :status, return_date = :returnDate, fine_accrued_through = :accruedThrough "
+            + "WHERE id = :id AND status IN (:active) AND fine_accrued_through IS NOT DISTINCT FROM :expectedAccruedThrough";
+
+    private static final String BUSY = "All copies are currently busy.";
+
+    private final StudentRepository studentRepository;
+    private final BooksRepository booksRepository;
+    private final BooksService booksService;
+    private final BookIssueRepository bookIssueRepository;
+    private final BookAvailabilityTracker availabilityTracker;
+    private final FineService fineService;
+    private final HoldService holdService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersions resourceVersions;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxItems;
+
+    @Autowired
+    public BookIssueBulkService(StudentRepository studentRepository,
+                                BooksRepository booksRepository,
+                                BooksService booksService,
+                                BookIssueRepository bookIssueRepository,
+                                BookAvailabilityTracker availabilityTracker,
+                                FineService fineService,
+                                HoldService holdService,
+                                ApplicationEventPublisher eventPublisher,
+                                ResourceVersions resourceVersions,
+                                DataSource dataSource,
+                                @Value("${library.bulk.max-items:200}") int maxItems) {
+        this.studentRepository = studentRepository;
+        this.booksRepository = booksRepository;
+        this.booksService = booksService;
+        this.bookIssueRepository = bookIssueRepository;
+        this.availabilityTracker = availabilityTracker;
+        this.fineService = fineService;
+        this.holdService = holdService;
+        this.eventPublisher = eventPublisher;
+        this.resourceVersions = resourceVersions;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.maxItems = maxItems;
+    }
+
+    // Direct issue (ISSUED, due in 14 days) of every item, like issueBookDirectlyByRollNo
+    @Transactional
+    @Timed(value = BookIssueService.TRANSITION_TIMER, extraTags = {"transition", "bulk-issue"}, histogram = true)
+    public BulkResult issueBooks(List<BulkIssueRequest.Item> items) {
+        checkSize(items);
+        ItemResult[] results = new ItemResult[items.size()];
+
+        Set<String> rollNos = items.stream().filter(Objects::nonNull).map(BulkIssueRequest.Item::getRollNo)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> bookIds = items.stream().filter(Objects::nonNull).map(BulkIssueRequest.Item::getBookId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, Long> studentIds = rollNos.isEmpty() ? Map.of()
+                : studentRepository.findIdsByRollNoIn(rollNos).stream()
+                        .collect(Collectors.toMap(StudentRollNo::getRollNo, StudentRollNo::getId));
+        Map<Long, Books> books = bookIds.isEmpty() ? Map.of()
+                : booksRepository.findAllById(bookIds).stream().collect(Collectors.toMap(Books::getId, b -> b));
+        Set<Long> blocked = fineService.blockedAmong(studentIds.values());
+
+        // Valid items grouped by book, in submission order
+        Map<Long, List<Integer>> wanted = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkIssueRequest.Item item = items.get(i);
+            if (item == null || item.getRollNo() == null || item.getBookId() == null) {
+                results[i] = ItemResult.failed(i, null, "rollNo and bookId are required");
+            } else if (!studentIds.containsKey(item.getRollNo())) {
+                results[i] = ItemResult.failed(i, null, "Student with Roll No '" + item.getRollNo() + "' not found");
+            } else if (blocked.contains(studentIds.get(item.getRollNo()))) {
+                results[i] = ItemResult.failed(i, null, "Outstanding fines must be paid before borrowing");
+            } else if (!books.containsKey(item.getBookId())) {
+                results[i] = ItemResult.failed(i, null, "Book not found");
+            } else {
+                wanted.computeIfAbsent(item.getBookId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Long, List<Integer>> reserved = reserveCopies(wanted, books, results);
+
+        // One batched insert for everything that got a copy
+        List<Integer> issued = reserved.values().stream().flatMap(List::stream).sorted().toList();
+        if (!issued.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            SqlParameterSource[] rows = issued.stream()
+                    .map(i -> new MapSqlParameterSource()
+                            .addValue("studentId", studentIds.get(items.get(i).getRollNo()))
+                            .addValue("bookId", items.get(i).getBookId())
+                            .addValue("status", IssueStatus.ISSUED.name())
+                            .addValue("issueDate", Date.valueOf(today))
+                            .addValue("dueDate", Date.valueOf(today.plusDays(14))))
+                    .toArray(SqlParameterSource[]::new);
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_ISSUE, rows, keys, new String[]{"id"});
+
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            for (int k = 0; k < issued.size(); k++) {
+                Long issueId = k < keyList.size() ? ((Number) keyList.get(k).values().iterator().next()).longValue() : null;
+                results[issued.get(k)] = ItemResult.ok(issued.get(k), issueId);
+                eventPublisher.publishEvent(CirculationEvent.of(CirculationEventType.CREATED, issueId,
+                        items.get(issued.get(k)).getBookId(), IssueStatus.ISSUED));
+                resourceVersions.historyChanged(studentIds.get(items.get(issued.get(k)).getRollNo()));
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    @Transactional
+    @Timed(value = BookIssueService.TRANSITION_TIMER, extraTags = {"transition", "bulk-return"}, histogram = true)
+    public BulkResult returnBooks(List<Long> issueIds) {
+        checkSize(issueIds);
+        ItemResult[] results = new ItemResult[issueIds.size()];
+
+        Set<Long> ids = issueIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, IssueState> issues = ids.isEmpty() ? Map.of()
+                : bookIssueRepository.findStatesByIdIn(ids).stream().collect(Collectors.toMap(IssueState::getId, s -> s));
+
+        List<Integer> returning = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < issueIds.size(); i++) {
+            Long issueId = issueIds.get(i);
+            IssueState issue = issueId != null ? issues.get(issueId) : null;
+            if (issueId == null) {
+                results[i] = ItemResult.failed(i, null, "issueId is required");
+            } else if (!seen.add(issueId)) {
+                results[i] = ItemResult.failed(i, issueId, "Issue listed more than once");
+            } else if (issue == null) {
+                results[i] = ItemResult.failed(i, issueId, "Issue record not found");
+            } else if (!issue.getStatus().isActive()) {
+                results[i] = ItemResult.failed(i, issueId, "Issue is already " + issue.getStatus());
+            } else {
+                returning.add(i);
+            }
+        }
+        if (returning.isEmpty()) {
+            return BulkResult.of(Arrays.asList(results));
+        }
+
+        // Remaining overdue days of each issue, charged when its return goes through
+        LocalDate returnDate = LocalDate.now();
+        Map<Integer, FineCharge> fines = new HashMap<>();
+        for (int i : returning) {
+            IssueState issue = issues.get(issueIds.get(i));
+            FineCharge fine = fineService.returnCharge(issue.getStudentId(), issue.getId(), issue.getDueDate(),
+                    issue.getFineAccruedThrough(), returnDate);
+            if (fine != null) {
+                fines.put(i, fine);
+            }
+        }
+
+        // The status and accrual guards make each update a no-op if the issue was closed
+        // or charged by the accrual run concurrently
+        Date today = Date.valueOf(returnDate);
+        List<String> active = IssueStatus.ACTIVE.stream().map(Enum::name).toList();
+        SqlParameterSource[] rows = returning.stream()
+                .map(i -> {
+                    IssueState issue = issues.get(issueIds.get(i));
+                    LocalDate accruedThrough = fines.containsKey(i) ? returnDate : issue.getFineAccruedThrough();
+                    return new MapSqlParameterSource()
+                            .addValue("id", issueIds.get(i))
+                            .addValue("status", IssueStatus.RETURNED.name())
+                            .addValue("returnDate", today)
+                            .addValue("active", active)
+                            .addValue("accruedThrough", accruedThrough != null ? Date.valueOf(accruedThrough) : null, Types.DATE)
+                            .addValue("expectedAccruedThrough", issue.getFineAccruedThrough() != null
+                                    ? Date.valueOf(issue.getFineAccruedThrough()) : null, Types.DATE);
+                })
+                .toArray(SqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(RETURN_ISSUE, rows);
+
+        Map<Long, Integer> releasedPerBook = new LinkedHashMap<>();
+        List<FineCharge> charges = new ArrayList<>();
+        for (int k = 0; k < returning.size(); k++) {
+            int i = returning.get(k);
+            Long issueId = issueIds.get(i);
+            if (updated[k] == 0) {
+                results[i] = ItemResult.failed(i, issueId, "Issue was changed by another request");
+                continue;
+            }
+            results[i] = ItemResult.ok(i, issueId);
+            eventPublisher.publishEvent(CirculationEvent.of(CirculationEventType.RETURNED, issueId,
+                    issues.get(issueId).getBookId(), IssueStatus.RETURNED));
+            resourceVersions.historyChanged(issues.get(issueId).getStudentId());
+            if (fines.containsKey(i)) {
+                charges.add(fines.get(i));
+            }
+            releasedPerBook.merge(issues.get(issueId).getBookId(), 1, Integer::sum);
+        }
+
+        fineService.record(charges);
+
+        // Returned copies go to waiting holds first; only the rest are put back on the shelf
+        releasedPerBook.replaceAll((bookId, count) -> {
+            int left = count;
+            while (left > 0 && holdService.promoteNext(bookId)) {
+                left--;
+            }
+            return left;
+        });
+        releasedPerBook.values().removeIf(count -> count == 0);
+
+        if (!releasedPerBook.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_COPIES, releasedPerBook.entrySet().stream()
+                    .map(e -> new MapSqlParameterSource().addValue("id", e.getKey()).addValue("count", e.getValue()))
+                    .toArray(SqlParameterSource[]::new));
+            // A title that had no copy left is available again
+            if (booksRepository.findAvailabilityByIdIn(releasedPerBook.keySet()).stream()
+                    .anyMatch(b -> Objects.equals(b.getAvailableCopies(), releasedPerBook.get(b.getId())))) {
+                booksService.availabilityChanged();
+            }
+            releasedPerBook.forEach((bookId, count) -> {
+                for (int c = 0; c < count; c++) {
+                    availabilityTracker.releaseAfterCommit(bookId);
+                }
+            });
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    // Take copies for the whole batch: in-memory counters first (cheap rejection of fully booked titles),
+    // then one batched conditional UPDATE per book. Returns the item indexes that got a copy, by book;
+    // every other wanted item is marked busy in results.
+    private Map<Long, List<Integer>> reserveCopies(Map<Long, List<Integer>> wanted, Map<Long, Books> books, ItemResult[] results) {
+        Map<Long, List<Integer>> acquired = new LinkedHashMap<>();
+        wanted.forEach((bookId, indexes) -> {
+            Books book = books.get(bookId);
+            int totalCopies = book.getCopies() != null ? book.getCopies() : 1;
+            int count = 0;
+            while (count < indexes.size() && availabilityTracker.tryAcquire(bookId, totalCopies)) {
+                count++;
+            }
+            for (int i : indexes.subList(count, indexes.size())) {
+                results[i] = ItemResult.failed(i, null, BUSY);
+            }
+            if (count > 0) {
+                acquired.put(bookId, indexes.subList(0, count));
+            }
+        });
+        if (acquired.isEmpty()) {
+            return acquired;
+        }
+
+        List<Long> bookIds = new ArrayList<>(acquired.keySet());
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(RESERVE_COPIES, bookIds.stream()
+                    .map(id -> new MapSqlParameterSource().addValue("id", id).addValue("count", acquired.get(id).size()))
+                    .toArray(SqlParameterSource[]::new));
+        } catch (RuntimeException e) {
+            acquired.forEach(this::releaseNow);
+            throw e;
+        }
+
+        Map<Long, List<Integer>> reserved = new HashMap<>();
+        for (int b = 0; b < bookIds.size(); b++) {
+            Long bookId = bookIds.get(b);
+            List<Integer> indexes = acquired.get(bookId);
+            if (updated[b] == 0) {
+                // The counter let them through but the row has fewer copies left (counter drift)
+                releaseNow(bookId, indexes);
+                for (int i : indexes) {
+                    results[i] = ItemResult.failed(i, null, BUSY);
+                }
+            } else {
+                for (int c = 0; c < indexes.size(); c++) {
+                    availabilityTracker.releaseOnRollback(bookId);
+                }
+                reserved.put(bookId, indexes);
+            }
+        }
+        // A title whose last copy went in this batch now shows as busy in the catalog
+        if (!reserved.isEmpty() && booksRepository.findAvailabilityByIdIn(reserved.keySet()).stream()
+                .map(BookAvailability::getAvailableCopies).anyMatch(left -> left != null && left == 0)) {
+            booksService.availabilityChanged();
+        }
+        return reserved;
+    }
+
+    private void releaseNow(Long bookId, List<Integer> indexes) {
+        for (int c = 0; c < indexes.size(); c++) {
+            availabilityTracker.release(bookId);
+        }
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null) {
+            throw new IllegalStateException("No items given");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalStateException("A batch can hold at most " + maxItems + " items");
+        }
+    }
+}
@@ -1,21 +1,42 @@
 package com.example.Library_Book_Management.BookIssue;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping(path = "/issue")
 
 public class BookIssueController {
 
     private final BookIssueService bookIssueService;
+    private final BookIssueExportService bookIssueExportService;
+    private final BookIssueBulkService bookIssueBulkService;
+    private final CirculationStream circulationStream;
 
     @Autowired
-    public BookIssueController(BookIssueService bookIssueService) {
+    public BookIssueController(BookIssueService bookIssueService, BookIssueExportService bookIssueExportService, BookIssueBulkService bookIssueBulkService, CirculationStream circulationStream) {
         this.bookIssueService = bookIssueService;
+        this.bookIssueExportService = bookIssueExportService;
+        this.bookIssueBulkService = bookIssueBulkService;
+        this.circulationStream = circulationStream;
     }
 
     // ==========================================
@@ -38,7 +59,7 @@ public class BookIssueController {
 
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<BookIssue>> getStudentHistory(@PathVariable Long studentId) {
+    public ResponseEntity<List<BookIssueView>> getStudentHistory(@PathVariable Long studentId) {
         return ResponseEntity.ok(bookIssueService.getStudentHistory(studentId));
     }
 
@@ -48,23 +69,118 @@ public class BookIssueController {
 
     
     @GetMapping("/pending")
-    public ResponseEntity<List<BookIssue>> getPendingRequests() {
+    public ResponseEntity<List<BookIssueView>> getPendingRequests() {
         return ResponseEntity.ok(bookIssueService.getPendingRequests());
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<BookIssue>> getActiveIssues() {
+    public ResponseEntity<List<BookIssueView>> getActiveIssues() {
     return ResponseEntity.ok(bookIssueService.getActiveIssues());
 }
 
+    @GetMapping("/overdue")
+    public ResponseEntity<List<BookIssueView>> getOverdueIssues() {
+        return ResponseEntity.ok(bookIssueService.getOverdueIssues());
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<List<BookIssue>> getAllTransactions() {
+    public ResponseEntity<List<BookIssueView>> getAllTransactions() {
         return ResponseEntity.ok(bookIssueService.getAllIssuedBooks());
     }
 
+    // Paginated variants: ?cursor=<nextCursor from the previous page>&size=<page size>
+    @GetMapping("/pending/page")
+    public ResponseEntity<CursorPage<BookIssueView>> getPendingRequestsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return issuePage(IssueStatus.REQUESTED, cursor, size);
+    }
+
+    @GetMapping("/active/page")
+    public ResponseEntity<CursorPage<BookIssueView>> getActiveIssuesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookIssueService.getActiveIssuesPage(cursor, size));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/overdue/page")
+    public ResponseEntity<CursorPage<BookIssueView>> getOverdueIssuesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return issuePage(IssueStatus.OVERDUE, cursor, size);
+    }
+
+    @GetMapping("/all/page")
+    public ResponseEntity<CursorPage<BookIssueView>> getAllTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookIssueService.getAllIssuedBooksPage(cursor, size));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Full ledger download, streamed row by row: ?format=ndjson|csv&dateField=request|issue&from=&to= (yyyy-MM-dd)
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "request") String dateField,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response
+    ) throws IOException {
+        BookIssueExportService.Format exportFormat;
+        BookIssueExportService.DateField filterField;
+        try {
+            exportFormat = BookIssueExportService.Format.valueOf(format.toUpperCase());
+            filterField = BookIssueExportService.DateField.valueOf(dateField.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "format must be ndjson or csv, dateField must be request or issue");
+            return;
+        }
+
+        boolean csv = exportFormat == BookIssueExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"");
+        bookIssueExportService.export(exportFormat, filterField, from, to, response.getOutputStream());
+    }
+
+    // LIBRARIAN: live feed of created/approved/rejected/returned issues for the dashboards (text/event-stream)
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        try {
+            return ResponseEntity.ok(circulationStream.subscribe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private ResponseEntity<CursorPage<BookIssueView>> issuePage(IssueStatus status, String cursor, Integer size) {
+        try {
+            return ResponseEntity.ok(bookIssueService.getIssuesByStatusPage(status, cursor, size));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Strong ETag per student: an unchanged history is a 304 after one version lookup, without loading or serializing it
     @GetMapping("/my-history")
-    public ResponseEntity<List<BookIssue>> getMyHistory(@RequestParam String rollNo){
-        return ResponseEntity.ok(bookIssueService.getStudentHistoryByRollNo(rollNo));
+    public ResponseEntity<List<BookIssueView>> getMyHistory(@RequestParam String rollNo, WebRequest request){
+        String etag = bookIssueService.getStudentHistoryTag(rollNo);
+        if (etag == null) {
+            return ResponseEntity.ok(bookIssueService.getStudentHistoryByRollNo(rollNo));
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ResourceVersions.REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(ResourceVersions.REVALIDATE)
+                .body(bookIssueService.getStudentHistoryByRollNo(rollNo));
     }
     @PutMapping("/approve/{issueId}")
     public ResponseEntity<String> approveRequest(@PathVariable Long issueId) {
@@ -79,15 +195,23 @@ public class BookIssueController {
 
     @PutMapping("/reject/{issueId}")
     public ResponseEntity<String> rejectRequest(@PathVariable Long issueId) {
-        bookIssueService.rejectRequest(issueId);
-        return ResponseEntity.ok("Request rejected.");
+        try {
+            bookIssueService.rejectRequest(issueId);
+            return ResponseEntity.ok("Request rejected.");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 
     @PutMapping("/return/{issueId}")
     public ResponseEntity<String> returnBook(@PathVariable Long issueId) {
-        bookIssueService.returnBook(issueId);
-        return ResponseEntity.ok("Book returned successfully.");
+        try {
+            bookIssueService.returnBook(issueId);
+            return ResponseEntity.ok("Book returned successfully.");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 
@@ -111,10 +235,27 @@ public class BookIssueController {
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }catch (Exception e){
-            e.printStackTrace();
+            log.error("Issue by roll no {} for book {} failed", rollNo, bookId, e);
             return ResponseEntity.status(500).body("Server Error: " + e.getMessage());
         }
     }
 
+    // Desk batches (e.g. a class set): per-item results, everything that succeeded commits together
+    @PostMapping("/bulk/issue")
+    public ResponseEntity<?> bulkIssue(@RequestBody BulkIssueRequest request) {
+        try {
+            return ResponseEntity.ok(bookIssueBulkService.issueBooks(request.getItems()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-}
\ No newline at end of file
+    @PutMapping("/bulk/return")
+    public ResponseEntity<?> bulkReturn(@RequestBody BulkReturnRequest request) {
+        try {
+            return ResponseEntity.ok(bookIssueBulkService.returnBooks(request.getIssueIds()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the whole issue ledger, archived issues included, row by row (NDJSON or CSV).
+ *
+ * Reads through a forward-only JDBC cursor with a fetch size (PostgreSQL only
+ * uses a cursor inside a transaction, hence the read-only TransactionTemplate),
+ * so memory stays constant however long the history is.
+ */
+@Service
+public class BookIssueExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    public enum DateField { REQUEST, ISSUE }
+
+    private static final String[] COLUMNS = {
+            "id", "status", "requestDate", "issueDate", "dueDate", "returnDate",
+            "studentId", "studentName", "rollNo", "studentEmail",
+            "bookId", "bookName", "author"
+    };
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookIssueExportService(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${library.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(Format format, DateField dateField, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        String column = dateField == DateField.ISSUE ? "bi.issue_date" : "bi.request_date";
+        StringBuilder sql = new StringBuilder("""
+                SELECT bi.id, bi.status, bi.request_date, bi.issue_date, bi.due_date, bi.return_date,
+                       s.id AS student_id, s.name AS student_name, s.roll_no, s.email AS student_email,
+                       b.id AS book_id, b.book_name, b.author
+                FROM (%s) bi
+                JOIN students s ON s.id = bi.student_id
+                JOIN books b ON b.id = bi.books_id
+                WHERE 1 = 1
+                """.formatted(IssueRecord.ALL_ISSUES));
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" ORDER BY bi.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                        try {
+                            rowWriter.write(rs);
+                            if (rs.getRow() % FLUSH_EVERY == 0) {
+                                rowWriter.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        rowWriter.flush();
+    }
+
+    // Rows are only buffered; flush() pushes them to the client (every FLUSH_EVERY rows, so one
+    // socket write and, with response compression, one gzip block per batch rather than per row)
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+        void flush() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("status", rs.getString("status"));
+            writeDate("requestDate", rs.getDate("request_date"));
+            writeDate("issueDate", rs.getDate("issue_date"));
+            writeDate("dueDate", rs.getDate("due_date"));
+            writeDate("returnDate", rs.getDate("return_date"));
+            generator.writeNumberField("studentId", rs.getLong("student_id"));
+            generator.writeStringField("studentName", rs.getString("student_name"));
+            generator.writeStringField("rollNo", rs.getString("roll_no"));
+            generator.writeStringField("studentEmail", rs.getString("student_email"));
+            generator.writeNumberField("bookId", rs.getLong("book_id"));
+            generator.writeStringField("bookName", rs.getString("book_name"));
+            generator.writeStringField("author", rs.getString("author"));
+            generator.writeEndObject();
+            // Through the generator, so the row stays in its buffer instead of forcing a flush
+            generator.writeRaw('\n');
+        }
+
+        private void writeDate(String field, Date date) throws IOException {
+            if (date == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, date.toLocalDate().toString());
+            }
+        }
+
+        // Empties the generator's buffer into the writer and flushes that through to the response
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        // Header row first
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(rs.getString("id"));
+            cell(rs.getString("status"));
+            cell(rs.getString("request_date"));
+            cell(rs.getString("issue_date"));
+            cell(rs.getString("due_date"));
+            cell(rs.getString("return_date"));
+            cell(rs.getString("student_id"));
+            cell(rs.getString("student_name"));
+            cell(rs.getString("roll_no"));
+            cell(rs.getString("student_email"));
+            cell(rs.getString("book_id"));
+            cell(rs.getString("book_name"));
+            cell(rs.getString("author"));
+            writer.write('\n');
+        }
+
+        private void cell(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
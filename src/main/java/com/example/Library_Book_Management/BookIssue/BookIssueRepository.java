@@ -1,13 +1,41 @@
 package com.example.Library_Book_Management.BookIssue;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface BookIssueRepository extends JpaRepository<BookIssue, Long> {
-    // Check if book is busy
-    boolean existsByBookIdAndStatusIn(Long bookId, List<IssueStatus> statuses);
+
+    // Flat read model: one SQL statement with the joins, no Student/Books entities (see BookIssueView)
+    String VIEW_SELECT = "select new com.example.Library_Book_Management.BookIssue.BookIssueView("
+            + "bi.id, bi.status, bi.requestDate, bi.issueDate, bi.dueDate, bi.returnDate, "
+            + "s.id, s.name, s.email, s.rollNo, s.department, b.id, b.bookName, b.author) "
+            + "from BookIssue bi join bi.student s join bi.book b ";
+
+    // Return path: row lock so the fine accrual run cannot charge the same days concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select bi from BookIssue bi where bi.id = :id")
+    Optional<BookIssue> findByIdForUpdate(@Param("id") Long id);
+
+    // Check if book is busy. exists stops at the first match instead of counting them all. The statuses
+    // are literals, not a bound list, so even a generic plan can match the partial index
+    // ix_book_issue_active_book (WHERE status IN the active statuses).
+    @Query("select case when exists (select 1 from BookIssue bi where bi.book.id = :bookId and bi.status in ("
+            + "com.example.Library_Book_Management.BookIssue.IssueStatus.REQUESTED, "
+            + "com.example.Library_Book_Management.BookIssue.IssueStatus.ISSUED, "
+            + "com.example.Library_Book_Management.BookIssue.IssueStatus.OVERDUE)) then true else false end")
+    boolean existsActiveByBookId(@Param("bookId") Long bookId);
 
     // Find all pending requests
     List<BookIssue> findAllByStatus(IssueStatus status);
@@ -15,6 +43,36 @@ public interface BookIssueRepository extends JpaRepository<BookIssue, Long> {
     // Find specific student history
     List<BookIssue> findAllByStudentId(Long studentId);
 
-    //Count how many copies are currently busy (Requested or Issued)
-    Long countByBookIdAndStatusIn(Long bookId, List<IssueStatus> statuses);
-}
\ No newline at end of file
+    // Listings of open issues for the dashboards (histories including archived issues: IssueRecordRepository)
+    @Query(VIEW_SELECT + "where bi.status = :status order by bi.id")
+    List<BookIssueView> findViewsByStatus(@Param("status") IssueStatus status);
+
+    @Query(VIEW_SELECT + "where bi.status in :statuses order by bi.id")
+    List<BookIssueView> findViewsByStatusIn(@Param("statuses") List<IssueStatus> statuses);
+
+    // Keyset pagination by an open status
+    @Query(VIEW_SELECT + "where bi.status = :status and bi.id > :afterId order by bi.id")
+    List<BookIssueView> findViewPageByStatus(@Param("status") IssueStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    // Book and status of many issues at once (bulk return)
+    @Query("select bi.id as id, bi.book.id as bookId, bi.status as status, bi.student.id as studentId, "
+            + "bi.dueDate as dueDate, bi.fineAccruedThrough as fineAccruedThrough from BookIssue bi where bi.id in :ids")
+    List<IssueState> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "where bi.status in :statuses and bi.id > :afterId order by bi.id")
+    List<BookIssueView> findViewPageByStatusIn(@Param("statuses") List<IssueStatus> statuses, @Param("afterId") Long afterId, Limit limit);
+
+    // Overdue scan: one chunk of issues in a status that were due before the given day.
+    // A range scan on ix_book_issue_status_due_date; rows already moved out of the status are never read again.
+    @Query("select bi.id from BookIssue bi where bi.status = :status and bi.dueDate < :day order by bi.dueDate, bi.id")
+    List<Long> findIdsDueBefore(@Param("status") IssueStatus status, @Param("day") LocalDate day, Limit limit);
+
+    // Bulk status change, guarded by the current status so concurrent returns are left alone
+    @Modifying
+    @Query("update BookIssue bi set bi.status = :to where bi.id in :ids and bi.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") IssueStatus from, @Param("to") IssueStatus to);
+
+    // Busy copies for every book in one grouped query (used to seed/reconcile the availability counters)
+    @Query("select bi.book.id as bookId, count(bi) as inUse from BookIssue bi where bi.status in :statuses group by bi.book.id")
+    List<BookUsage> countInUseGroupedByBook(@Param("statuses") List<IssueStatus> statuses);
+}
@@ -1,43 +1,72 @@
 package com.example.Library_Book_Management.BookIssue;
 
+import com.example.Library_Book_Management.Books.Books;
 import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Books.BooksService;
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.Common.CursorPaging;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Config.ReadRouting;
+import com.example.Library_Book_Management.Fine.FineService;
+import com.example.Library_Book_Management.Hold.HoldService;
 import com.example.Library_Book_Management.Student.StudentRepository;
+import com.example.Library_Book_Management.Student.StudentService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class BookIssueService {
 
+    // Latency histogram per state transition: library.circulation.transition{transition=...}
+    static final String TRANSITION_TIMER = "library.circulation.transition";
+
     private final BookIssueRepository bookIssueRepository;
+    private final IssueRecordRepository issueRecordRepository;
     private final BooksRepository booksRepository;
+    private final BooksService booksService;
     private final StudentRepository studentRepository;
+    private final StudentService studentService;
+    private final BookAvailabilityTracker availabilityTracker;
+    private final CursorPaging cursorPaging;
+    private final FineService fineService;
+    private final HoldService holdService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public BookIssueService(BookIssueRepository bookIssueRepository, BooksRepository booksRepository, StudentRepository studentRepository) {
+    public BookIssueService(BookIssueRepository bookIssueRepository, IssueRecordRepository issueRecordRepository, BooksRepository booksRepository, BooksService booksService, StudentRepository studentRepository, StudentService studentService, BookAvailabilityTracker availabilityTracker, CursorPaging cursorPaging, FineService fineService, HoldService holdService, ApplicationEventPublisher eventPublisher, ResourceVersions resourceVersions) {
         this.bookIssueRepository = bookIssueRepository;
+        this.issueRecordRepository = issueRecordRepository;
         this.booksRepository = booksRepository;
+        this.booksService = booksService;
         this.studentRepository = studentRepository;
+        this.studentService = studentService;
+        this.availabilityTracker = availabilityTracker;
+        this.cursorPaging = cursorPaging;
+        this.fineService = fineService;
+        this.holdService = holdService;
+        this.eventPublisher = eventPublisher;
+        this.resourceVersions = resourceVersions;
     }
 
     //Direct Issue by Roll No (For Librarian Manual Entry)
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "issue-direct"}, histogram = true)
     public void issueBookDirectlyByRollNo(String rollNo, Long bookId) {
-        var student = studentRepository.findByRollNo(rollNo)
+        var student = studentService.findByRollNo(rollNo)
                 .orElseThrow(() -> new IllegalStateException("Student with Roll No '" + rollNo + "' not found"));
         
         var book = booksRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalStateException("Book not found"));
+        fineService.checkCanBorrow(student.getId());
 
         // Check availability
-        Long activeIssues = bookIssueRepository.countByBookIdAndStatusIn(
-                bookId, 
-                List.of(IssueStatus.REQUESTED, IssueStatus.ISSUED)
-        );
-         int totalCopies = book.getCopies() != null ? book.getCopies() : 1;
-        if (activeIssues >= totalCopies) {
-            throw new IllegalStateException("All copies are currently busy.");
-        }
+        reserveCopy(book, "All copies are currently busy.");
 
         BookIssue issue = new BookIssue();
         issue.setStudent(student);
@@ -47,24 +76,21 @@ public class BookIssueService {
         issue.setDueDate(LocalDate.now().plusDays(14)); // Set due date (e.g. 14 days)
         
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.CREATED, issue);
     }
 
     // Direct librarian issues (using ID - keeping for compatibility)
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "issue-direct"}, histogram = true)
     public void issueBookDirectly(Long studentId, Long bookId) {
         var student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new IllegalStateException("Student not found"));
         var book = booksRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalStateException("Book not found"));
+        fineService.checkCanBorrow(student.getId());
 
         // Checking Availability
-        Long activeIssues = bookIssueRepository.countByBookIdAndStatusIn(
-                bookId, 
-                List.of(IssueStatus.REQUESTED, IssueStatus.ISSUED)
-        );
-
-        if (activeIssues >= book.getCopies()) {
-            throw new IllegalStateException("All copies are currently issued or requested.");
-        }
+        reserveCopy(book, "All copies are currently issued or requested.");
 
         // Creating Record as ISSUED immediately
         BookIssue issue = new BookIssue();
@@ -75,23 +101,21 @@ public class BookIssueService {
         issue.setDueDate(LocalDate.now().plusDays(14)); // Set due date
         
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.CREATED, issue);
     }
 
     // STUDENT REQUESTS BOOK (Using Roll No)
-    public void requestBook(String rollNo, Long bookId) {
-        var student = studentRepository.findByRollNo(rollNo)
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "request"}, histogram = true)
+    public BookIssue requestBook(String rollNo, Long bookId) {
+        var student = studentService.findByRollNo(rollNo)
                 .orElseThrow(() -> new IllegalStateException("Student not found"));
         var book = booksRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalStateException("Book not found"));
-        
-        Long activeIssues = bookIssueRepository.countByBookIdAndStatusIn(
-                bookId, 
-                List.of(IssueStatus.REQUESTED, IssueStatus.ISSUED)
-        );
-       
-        if (activeIssues >= book.getCopies()) {
-            throw new IllegalStateException("All copies of this book are currently issued or requested.");
-        }
+        // Unpaid fines block borrowing (one primary-key read of the running balance)
+        fineService.checkCanBorrow(student.getId());
+
+        reserveCopy(book, "All copies of this book are currently issued or requested.");
        
         BookIssue issue = new BookIssue();
         issue.setStudent(student);
@@ -99,61 +123,165 @@ public class BookIssueService {
         issue.setStatus(IssueStatus.REQUESTED); 
         issue.setRequestDate(LocalDate.now());
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.CREATED, issue);
+        return issue;
     }
 
     // LIBRARIAN APPROVES
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "approve"}, histogram = true)
     public void approveIssue(Long issueId) {
-        BookIssue issue = bookIssueRepository.findById(issueId)
+        // Locked so a concurrent reject cannot free the copy between the check and the update
+        BookIssue issue = bookIssueRepository.findByIdForUpdate(issueId)
                 .orElseThrow(() -> new IllegalStateException("Issue record not found"));
 
         if (issue.getStatus() != IssueStatus.REQUESTED) {
             throw new IllegalStateException("Can only approve REQUESTED books.");
         }
 
+        // REQUESTED -> ISSUED keeps the same copy busy, so the availability counter does not move
         issue.setStatus(IssueStatus.ISSUED);
         issue.setIssueDate(LocalDate.now());
         // Set due date (e.g., 14 days from now)
         issue.setDueDate(LocalDate.now().plusDays(14));
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.APPROVED, issue);
     }
 
     // LIBRARIAN REJECTS
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "reject"}, histogram = true)
     public void rejectRequest(Long issueId) {
-        BookIssue issue = bookIssueRepository.findById(issueId)
+        // Row lock as in returnBook, so a reject racing a return or an approve cannot free the copy twice
+        BookIssue issue = bookIssueRepository.findByIdForUpdate(issueId)
                 .orElseThrow(() -> new IllegalStateException("Issue record not found"));
+
+        // A book the student already has goes through returnBook (fines, return date)
+        if (issue.getStatus() != IssueStatus.REQUESTED) {
+            throw new IllegalStateException("Can only reject REQUESTED books.");
+        }
+
         issue.setStatus(IssueStatus.REJECTED);
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.REJECTED, issue);
+        releaseCopy(issue.getBook().getId());
     }
     
-    public List<BookIssue> getActiveIssues() {
-    return bookIssueRepository.findAllByStatus(IssueStatus.ISSUED);
+    // Books currently with students, overdue ones included (the desk returns them from this list)
+    public List<BookIssueView> getActiveIssues() {
+    return bookIssueRepository.findViewsByStatusIn(IssueStatus.CHECKED_OUT);
 }
+
+    public List<BookIssueView> getOverdueIssues() {
+        return bookIssueRepository.findViewsByStatus(IssueStatus.OVERDUE);
+    }
     // RETURN BOOK
+    @Transactional
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "return"}, histogram = true)
     public void returnBook(Long issueId) {
-        var issue = bookIssueRepository.findById(issueId)
+        var issue = bookIssueRepository.findByIdForUpdate(issueId)
                 .orElseThrow(() -> new IllegalStateException("Issue record not found"));
 
+        // Same rule as the bulk return: a second return would publish (and count) the return twice
+        if (!issue.getStatus().isActive()) {
+            throw new IllegalStateException("Issue is already " + issue.getStatus());
+        }
+
+        LocalDate today = LocalDate.now();
+        // Charge the overdue days the accrual run has not charged yet
+        fineService.finalizeOnReturn(issue, today);
         issue.setStatus(IssueStatus.RETURNED);
-        issue.setReturnDate(LocalDate.now());
+        issue.setReturnDate(today);
         bookIssueRepository.save(issue);
+        publish(CirculationEventType.RETURNED, issue);
+        releaseCopy(issue.getBook().getId());
+    }
+
+    // Take one copy of the book or fail. The in-memory counter rejects fully booked titles without
+    // touching the database; the conditional UPDATE on available_copies is what makes it race-free.
+    private void reserveCopy(Books book, String busyMessage) {
+        int totalCopies = book.getCopies() != null ? book.getCopies() : 1;
+        if (!availabilityTracker.tryAcquire(book.getId(), totalCopies)) {
+            throw new IllegalStateException(busyMessage);
+        }
+        availabilityTracker.releaseOnRollback(book.getId());
+
+        if (booksRepository.reserveCopy(book.getId()) == 0) {
+            throw new IllegalStateException(busyMessage);
+        }
+        if (availableCopies(book.getId()) == 0) {
+            booksService.availabilityChanged();
+        }
+    }
+
+    // Tell dashboards (after commit) and move the student's history ETag
+    private void publish(CirculationEventType type, BookIssue issue) {
+        eventPublisher.publishEvent(CirculationEvent.of(type, issue));
+        resourceVersions.historyChanged(issue.getStudent().getId());
+    }
+
+    // The freed copy goes to the first student waiting for the title, if any; otherwise back on the shelf
+    private void releaseCopy(Long bookId) {
+        if (holdService.promoteNext(bookId)) {
+            return;
+        }
+        if (booksRepository.releaseCopy(bookId) > 0 && availableCopies(bookId) == 1) {
+            booksService.availabilityChanged();
+        }
+        availabilityTracker.releaseAfterCommit(bookId);
+    }
+
+    // The catalog only changes when a title becomes fully booked or gets its first copy back
+    private int availableCopies(Long bookId) {
+        return booksRepository.findAvailabilityByIdIn(List.of(bookId)).stream()
+                .mapToInt(b -> b.getAvailableCopies() != null ? b.getAvailableCopies() : 0)
+                .findFirst().orElse(0);
+    }
+
+    // HELPER GETTERS (full history: live and archived issues)
+    public List<BookIssueView> getAllIssuedBooks() {
+        return issueRecordRepository.findAllViews();
+    }
+
+    public List<BookIssueView> getPendingRequests() {
+        return bookIssueRepository.findViewsByStatus(IssueStatus.REQUESTED);
+    }
+
+    // PAGINATED GETTERS (keyset on id, never loads the whole table)
+    public CursorPage<BookIssueView> getAllIssuedBooksPage(String cursor, Integer size) {
+        int pageSize = cursorPaging.size(size);
+        List<BookIssueView> rows = issueRecordRepository.findViewPage(cursorPaging.afterId(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.page(rows, pageSize, BookIssueView::getId);
+    }
+
+    public CursorPage<BookIssueView> getIssuesByStatusPage(IssueStatus status, String cursor, Integer size) {
+        int pageSize = cursorPaging.size(size);
+        // Closed statuses may be archived; open ones are only ever in book_issue
+        List<BookIssueView> rows = status.isActive()
+                ? bookIssueRepository.findViewPageByStatus(status, cursorPaging.afterId(cursor), cursorPaging.limit(pageSize))
+                : issueRecordRepository.findViewPageByStatus(status, cursorPaging.afterId(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.page(rows, pageSize, BookIssueView::getId);
     }
 
-    // HELPER GETTERS
-    public List<BookIssue> getAllIssuedBooks() {
-        return bookIssueRepository.findAll();
+    public CursorPage<BookIssueView> getActiveIssuesPage(String cursor, Integer size) {
+        int pageSize = cursorPaging.size(size);
+        List<BookIssueView> rows = bookIssueRepository.findViewPageByStatusIn(IssueStatus.CHECKED_OUT, cursorPaging.afterId(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.page(rows, pageSize, BookIssueView::getId);
     }
 
-    public List<BookIssue> getPendingRequests() {
-        return bookIssueRepository.findAllByStatus(IssueStatus.REQUESTED);
+    public List<BookIssueView> getStudentHistory(Long studentId) {
+        return issueRecordRepository.findViewsByStudentId(studentId);
     }
 
-    public List<BookIssue> getStudentHistory(Long studentId) {
-        return bookIssueRepository.findAllByStudentId(studentId);
+    // ETag for getStudentHistoryByRollNo, or null for unknown roll numbers (cached student lookup, no issue query)
+    public String getStudentHistoryTag(String rollNo) {
+        return studentService.findByRollNo(rollNo).map(student -> resourceVersions.historyTag(student.getId())).orElse(null);
     }
 
-    public List<BookIssue> getStudentHistoryByRollNo(String rollNo){
-         var student =studentRepository.findByRollNo(rollNo).orElseThrow(()-> new IllegalStateException("Student with Roll No " + rollNo + " not found"));
-         return bookIssueRepository.findAllByStudentId(student.getId());
+    // Unknown roll numbers simply have no history (one query, no separate student lookup).
+    // Read from the primary: the response is cached by ETag, so it must not predate the tag.
+    public List<BookIssueView> getStudentHistoryByRollNo(String rollNo){
+         return ReadRouting.onPrimary(() -> issueRecordRepository.findViewsByRollNo(rollNo));
 }
     }
     
@@ -0,0 +1,67 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model for issue listings (librarian dashboards, student history).
+ * Built by one join query in BookIssueRepository, so no Student/Books entities
+ * are loaded. Keeps the nested book/student shape the frontend already reads.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookIssueView {
+
+    private Long id;
+    private IssueStatus status;
+    private LocalDate requestDate;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+    private StudentSummary student;
+    private BookSummary book;
+
+    // Used by the JPQL constructor expressions
+    public BookIssueView(Long id, IssueStatus status,
+                         LocalDate requestDate, LocalDate issueDate, LocalDate dueDate, LocalDate returnDate,
+                         Long studentId, String studentName, String studentEmail, String rollNo, String department,
+                         Long bookId, String bookName, String author) {
+        this(id, status, requestDate, issueDate, dueDate, returnDate,
+                new StudentSummary(studentId, studentName, studentEmail, rollNo, department),
+                new BookSummary(bookId, bookName, author));
+    }
+
+    // Same shape from an entity that is already loaded (circulation events), without another query
+    public static BookIssueView of(BookIssue issue) {
+        var student = issue.getStudent();
+        var book = issue.getBook();
+        return new BookIssueView(issue.getId(), issue.getStatus(),
+                issue.getRequestDate(), issue.getIssueDate(), issue.getDueDate(), issue.getReturnDate(),
+                new StudentSummary(student.getId(), student.getName(), student.getEmail(), student.getRollNo(), student.getDepartment()),
+                new BookSummary(book.getId(), book.getBookName(), book.getAuthor()));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StudentSummary {
+        private Long id;
+        private String name;
+        private String email;
+        private String rollNo;
+        private String department;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookSummary {
+        private Long id;
+        private String bookName;
+        private String author;
+    }
+}
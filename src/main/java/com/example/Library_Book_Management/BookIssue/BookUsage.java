@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.BookIssue;
+
+// Projection for "how many copies of a book are busy"
+public interface BookUsage {
+    Long getBookId();
+    Long getInUse();
+}
@@ -0,0 +1,24 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Body of POST /issue/bulk/issue: {"items": [{"rollNo": "CS-01", "bookId": 12}, ...]}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssueRequest {
+
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String rollNo;
+        private Long bookId;
+    }
+}
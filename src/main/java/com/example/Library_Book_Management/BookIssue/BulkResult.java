@@ -0,0 +1,41 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of a bulk desk operation, one entry per submitted item in the submitted order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    public static BulkResult of(List<ItemResult> results) {
+        int succeeded = (int) results.stream().filter(ItemResult::isSuccess).count();
+        return new BulkResult(succeeded, results.size() - succeeded, results);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private boolean success;
+        private Long issueId;
+        private String error;
+
+        static ItemResult ok(int index, Long issueId) {
+            return new ItemResult(index, true, issueId, null);
+        }
+
+        static ItemResult failed(int index, Long issueId, String error) {
+            return new ItemResult(index, false, issueId, error);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Body of PUT /issue/bulk/return: {"issueIds": [101, 102, ...]}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReturnRequest {
+    private List<Long> issueIds;
+}
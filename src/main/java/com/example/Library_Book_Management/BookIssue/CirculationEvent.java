@@ -0,0 +1,34 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to one issue, pushed to dashboards after the transaction commits
+ * (CirculationStream) and written to the outbox before it (Outbox/OutboxWriter).
+ * issue is the row as the listings show it; it is null for bulk desk batches,
+ * where clients refetch instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CirculationEvent {
+
+    private CirculationEventType type;
+    private Long issueId;
+    private Long bookId;
+    private IssueStatus status;
+    private BookIssueView issue;
+    private LocalDateTime at;
+
+    public static CirculationEvent of(CirculationEventType type, BookIssue issue) {
+        return new CirculationEvent(type, issue.getId(), issue.getBook().getId(), issue.getStatus(), BookIssueView.of(issue), LocalDateTime.now());
+    }
+
+    public static CirculationEvent of(CirculationEventType type, Long issueId, Long bookId, IssueStatus status) {
+        return new CirculationEvent(type, issueId, bookId, status, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Library_Book_Management.BookIssue;
+
+public enum CirculationEventType {
+    CREATED,    // a new issue: student request, hold promotion or direct issue
+    APPROVED,
+    REJECTED,
+    RETURNED
+}
@@ -0,0 +1,186 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Events feed of circulation changes for librarian dashboards.
+ *
+ * Events are fanned out from memory after commit, so an idle dashboard costs
+ * no database queries, and each event is serialized once for all subscribers.
+ * Each subscriber has a bounded buffer drained by a small sender pool; a
+ * subscriber whose buffer fills up (slow or stalled client) is disconnected
+ * rather than allowed to hold events or sender threads. Clients reconnect and
+ * reload their lists once.
+ */
+@Slf4j
+@Component
+public class CirculationStream {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final ExecutorService ownedSender;
+    private final Counter evicted;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    @Autowired
+    public CirculationStream(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${library.events.buffer-size:64}") int bufferSize,
+                             @Value("${library.events.max-subscribers:200}") int maxSubscribers,
+                             @Value("${library.events.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${library.events.sender-threads:2}") int senderThreads) {
+        this(objectMapper, meterRegistry, bufferSize, maxSubscribers, timeoutMs, Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "circulation-sse");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    CirculationStream(ObjectMapper objectMapper, MeterRegistry meterRegistry, int bufferSize, int maxSubscribers, long timeoutMs, Executor sender) {
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.ownedSender = sender instanceof ExecutorService service ? service : null;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.evicted = Counter.builder("library.events.evicted")
+                .description("SSE subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("library.events.subscribers", subscribers, Set::size)
+                .description("Open circulation event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open event streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Only committed changes are pushed; events published outside a transaction go out directly
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCirculationEvent(CirculationEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize circulation event for issue {}", event.getIssueId(), e);
+            return;
+        }
+        Message message = new Message(String.valueOf(sequence.incrementAndGet()), event.getType().name().toLowerCase(), json);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    // Comment line that keeps proxies from closing idle streams and detects dead clients
+    @Scheduled(fixedDelayString = "${library.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(Message.KEEP_ALIVE);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (ownedSender != null) {
+            ownedSender.shutdownNow();
+        }
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Closing circulation event stream: {}", reason);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record Message(String id, String name, String json) {
+        static final Message KEEP_ALIVE = new Message(null, null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return this == KEEP_ALIVE ? SseEmitter.event().comment("keep-alive") : SseEmitter.event().id(id).name(name).data(json);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (!buffer.offer(message)) {
+                evicted.increment();
+                evict(this, "buffer full");
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // At most one drain per subscriber at a time, so events keep their order
+        private void drain() {
+            try {
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                evict(this, "send failed");
+            } finally {
+                draining.set(false);
+                if (!buffer.isEmpty() && subscribers.contains(this) && draining.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+    }
+}
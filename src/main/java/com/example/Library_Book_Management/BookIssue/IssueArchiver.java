@@ -0,0 +1,112 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves closed issues (RETURNED, REJECTED) out of book_issue into
+ * book_issue_archive once they are older than library.archive.after-days.
+ *
+ * book_issue then holds only open issues and recently closed ones, so the
+ * availability checks, status listings and the overdue scan stay fast however
+ * long the history gets. Each chunk is copied and deleted in one short
+ * transaction. History listings read both tables through IssueRecord.
+ */
+@Slf4j
+@Component
+public class IssueArchiver {
+
+    // A rejected request has no return date; it closed when it was requested. Keyset on id, so each chunk
+    // continues where the last one stopped instead of rescanning the recent closed issues it has to skip.
+    // The statuses are literals so the planner can use the partial index ix_book_issue_closed (V11).
+    static final String CLOSED_BEFORE =
+            "SELECT id FROM book_issue WHERE status IN ('RETURNED', 'REJECTED') "
+            + "AND COALESCE(return_date, request_date, issue_date) < :cutoff AND id > :afterId ORDER BY id";
+    private static final String COPY_TO_ARCHIVE =
+            "INSERT INTO book_issue_archive (id, student_id, books_id, request_date, issue_date, due_date, return_date, "
+            + "status, fine_accrued_through, archived_at) "
+            + "SELECT id, student_id, books_id, request_date, issue_date, due_date, return_date, status, fine_accrued_through, :archivedAt "
+            + "FROM book_issue WHERE id IN (:ids) AND status IN (:closed)";
+    private static final String DELETE_FROM_HOT =
+            "DELETE FROM book_issue WHERE id IN (:ids) AND status IN (:closed)";
+
+    private static final List<String> CLOSED = List.of(IssueStatus.RETURNED.name(), IssueStatus.REJECTED.name());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final int afterDays;
+    private final int chunkSize;
+
+    @Autowired
+    public IssueArchiver(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${library.archive.after-days:90}") int afterDays,
+                         @Value("${library.archive.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("library.circulation.archived")
+                .description("Closed issues moved to book_issue_archive")
+                .register(meterRegistry);
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    // Nightly, outside desk hours
+    @Scheduled(cron = "${library.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        int moved = archiveClosedBefore(LocalDate.now().minusDays(afterDays));
+        if (moved > 0) {
+            log.info("Archived {} closed issues", moved);
+        }
+    }
+
+    // Returns how many issues were moved
+    public synchronized int archiveClosedBefore(LocalDate cutoff) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            int[] moved = new int[1];
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = jdbcTemplate.queryForList(CLOSED_BEFORE + " LIMIT " + chunkSize, new MapSqlParameterSource()
+                        .addValue("cutoff", Date.valueOf(cutoff))
+                        .addValue("afterId", from), Long.class);
+                if (!chunk.isEmpty()) {
+                    MapSqlParameterSource params = new MapSqlParameterSource()
+                            .addValue("ids", chunk)
+                            .addValue("closed", CLOSED)
+                            .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+                    jdbcTemplate.update(COPY_TO_ARCHIVE, params);
+                    moved[0] = jdbcTemplate.update(DELETE_FROM_HOT, params);
+                }
+                return chunk;
+            });
+            total += moved[0];
+            archived.increment(moved[0]);
+            if (ids == null || ids.size() < chunkSize) {
+                return total;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+}
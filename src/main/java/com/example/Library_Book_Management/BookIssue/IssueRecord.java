@@ -0,0 +1,49 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Student.Student;
+
+// Read-only view over book_issue and book_issue_archive, for the history listings. One statement
+// reads both tables, so an issue being archived at that moment is seen exactly once.
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Subselect(IssueRecord.ALL_ISSUES)
+@Synchronize({"book_issue", "book_issue_archive"})
+public class IssueRecord {
+
+    public static final String ALL_ISSUES =
+            "SELECT id, student_id, books_id, request_date, issue_date, due_date, return_date, status FROM book_issue "
+            + "UNION ALL "
+            + "SELECT id, student_id, books_id, request_date, issue_date, due_date, return_date, status FROM book_issue_archive";
+
+    @Id
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @ManyToOne
+    @JoinColumn(name = "books_id")
+    private Books book;
+
+    private LocalDate requestDate;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+
+    @Enumerated(EnumType.STRING)
+    private IssueStatus status;
+}
@@ -0,0 +1,34 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// History listings over live and archived issues (IssueRecord); same rows as BookIssueRepository's views
+@Repository
+public interface IssueRecordRepository extends JpaRepository<IssueRecord, Long> {
+
+    String VIEW_SELECT = "select new com.example.Library_Book_Management.BookIssue.BookIssueView("
+            + "bi.id, bi.status, bi.requestDate, bi.issueDate, bi.dueDate, bi.returnDate, "
+            + "s.id, s.name, s.email, s.rollNo, s.department, b.id, b.bookName, b.author) "
+            + "from IssueRecord bi join bi.student s join bi.book b ";
+
+    @Query(VIEW_SELECT + "order by bi.id")
+    List<BookIssueView> findAllViews();
+
+    @Query(VIEW_SELECT + "where s.id = :studentId order by bi.id")
+    List<BookIssueView> findViewsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(VIEW_SELECT + "where s.rollNo = :rollNo order by bi.id")
+    List<BookIssueView> findViewsByRollNo(@Param("rollNo") String rollNo);
+
+    @Query(VIEW_SELECT + "where bi.id > :afterId order by bi.id")
+    List<BookIssueView> findViewPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(VIEW_SELECT + "where bi.status = :status and bi.id > :afterId order by bi.id")
+    List<BookIssueView> findViewPageByStatus(@Param("status") IssueStatus status, @Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,13 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDate;
+
+// Just what a bulk return needs to know about an issue (and its fine)
+public interface IssueState {
+    Long getId();
+    Long getBookId();
+    IssueStatus getStatus();
+    Long getStudentId();
+    LocalDate getDueDate();
+    LocalDate getFineAccruedThrough();
+}
@@ -1,8 +1,21 @@
 package com.example.Library_Book_Management.BookIssue;
 
+import java.util.List;
+
 public enum IssueStatus {
     REQUESTED,
     ISSUED,
+    OVERDUE,   // ISSUED and past its due date (set by OverdueScanner)
     RETURNED,
-    REJECTED
-}
\ No newline at end of file
+    REJECTED;
+
+    // Statuses that keep a copy of the book busy
+    public static final List<IssueStatus> ACTIVE = List.of(REQUESTED, ISSUED, OVERDUE);
+
+    // Statuses where the student has the book in hand
+    public static final List<IssueStatus> CHECKED_OUT = List.of(ISSUED, OVERDUE);
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+}
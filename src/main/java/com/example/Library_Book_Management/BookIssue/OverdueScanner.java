@@ -0,0 +1,83 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.Common.ResourceVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves ISSUED books past their due date to OVERDUE.
+ *
+ * Each run reads only ISSUED rows with due_date before today, through the
+ * (status, due_date) index, and flips them in chunks of one short transaction
+ * each. Rows that were moved leave the ISSUED range, so a run only ever touches
+ * the issues that became overdue since the previous one, however long the history is.
+ */
+@Slf4j
+@Component
+public class OverdueScanner {
+
+    private final BookIssueRepository bookIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersions resourceVersions;
+    private final Counter markedOverdue;
+    private final int chunkSize;
+
+    @Autowired
+    public OverdueScanner(BookIssueRepository bookIssueRepository,
+                          PlatformTransactionManager transactionManager,
+                          ResourceVersions resourceVersions,
+                          MeterRegistry meterRegistry,
+                          @Value("${library.overdue.chunk-size:500}") int chunkSize) {
+        this.bookIssueRepository = bookIssueRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resourceVersions = resourceVersions;
+        this.markedOverdue = Counter.builder("library.circulation.overdue.marked")
+                .description("Issues moved from ISSUED to OVERDUE")
+                .register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+
+    // Hourly by default, so a missed run or a restart around midnight is caught up quickly
+    @Scheduled(cron = "${library.overdue.cron:0 5 * * * *}")
+    public void scheduledScan() {
+        int moved = markOverdue(LocalDate.now());
+        if (moved > 0) {
+            log.info("Marked {} issues overdue", moved);
+        }
+    }
+
+    // Returns how many issues were moved to OVERDUE
+    public synchronized int markOverdue(LocalDate today) {
+        int total = 0;
+        while (true) {
+            int[] moved = new int[1];
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = bookIssueRepository.findIdsDueBefore(IssueStatus.ISSUED, today, Limit.of(chunkSize));
+                if (!chunk.isEmpty()) {
+                    moved[0] = bookIssueRepository.updateStatus(chunk, IssueStatus.ISSUED, IssueStatus.OVERDUE);
+                    // Statuses show in the histories; the chunk's students are not loaded, so refresh them all
+                    resourceVersions.allHistoriesChanged();
+                }
+                return chunk;
+            });
+            total += moved[0];
+            markedOverdue.increment(moved[0]);
+            if (ids == null || ids.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
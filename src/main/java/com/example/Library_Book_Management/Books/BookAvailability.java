@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.Books;
+
+// Copies left on the shelf for one book (read back right after a reserve or release)
+public interface BookAvailability {
+    Long getId();
+    Integer getAvailableCopies();
+}
@@ -0,0 +1,190 @@
+package com.example.Library_Book_Management.Books;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over book titles and authors.
+ *
+ * Every word of the query has to match the start of a word in the title or
+ * the author ("har pot" finds "Harry Potter"), so the search box can query
+ * as the user types. Results are ranked: exact word beats prefix, title beats author.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final int EXACT_TITLE = 8;
+    private static final int PREFIX_TITLE = 4;
+    private static final int EXACT_AUTHOR = 2;
+    private static final int PREFIX_AUTHOR = 1;
+
+    // Best first: higher score, then lower id so equal scores come back in a stable order
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey());
+
+    private final BooksRepository booksRepository;
+    private final int maxResults;
+
+    // term -> ids of the books containing it
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    // book id -> its indexed words, needed to score matches and to un-index on update/delete
+    private final ConcurrentHashMap<Long, IndexedBook> books = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookSearchIndex(BooksRepository booksRepository,
+                           @Value("${library.search.max-results:100}") int maxResults) {
+        this.booksRepository = booksRepository;
+        this.maxResults = maxResults;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        postings.clear();
+        books.clear();
+        List<BookTitle> titles = booksRepository.findAllTitles();
+        for (BookTitle title : titles) {
+            index(title.getId(), title.getBookName(), title.getAuthor());
+        }
+        log.info("Search index built for {} books", titles.size());
+    }
+
+    public void index(Books book) {
+        index(book.getId(), book.getBookName(), book.getAuthor());
+    }
+
+    public synchronized void index(Long bookId, String bookName, String author) {
+        remove(bookId);
+        IndexedBook entry = new IndexedBook(tokenize(bookName), tokenize(author));
+        books.put(bookId, entry);
+        for (String term : entry.allTerms()) {
+            postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(bookId);
+        }
+    }
+
+    public synchronized void remove(Long bookId) {
+        IndexedBook entry = books.remove(bookId);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.allTerms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(bookId);
+                if (ids.isEmpty()) {
+                    postings.remove(term, ids);
+                }
+            }
+        }
+    }
+
+    // Book ids matching every word of the query, best match first
+    public List<Long> search(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            for (Set<Long> ids : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).values()) {
+                for (Long id : ids) {
+                    if (scores == null || scores.containsKey(id)) {
+                        termScores.computeIfAbsent(id, bookId -> score(bookId, queryTerm));
+                    }
+                }
+            }
+            if (scores != null) {
+                Map<Long, Integer> previous = scores;
+                termScores.replaceAll((id, score) -> score + previous.get(id));
+            }
+            scores = termScores;
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // Top maxResults only: a bounded heap with the weakest kept match on top, so a one-letter
+        // prefix matching most of the catalog costs O(matches log maxResults), not a full sort
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(Math.min(scores.size(), maxResults) + 1, RANKING.reversed());
+        for (Map.Entry<Long, Integer> match : scores.entrySet()) {
+            if (top.size() < maxResults) {
+                top.add(match);
+            } else if (RANKING.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+
+        Long[] ids = new Long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().getKey();
+        }
+        return List.of(ids);
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    private int score(Long bookId, String queryTerm) {
+        IndexedBook entry = books.get(bookId);
+        if (entry == null) {
+            return 0;
+        }
+        int best = 0;
+        for (String term : entry.titleTerms()) {
+            if (term.equals(queryTerm)) {
+                return EXACT_TITLE;
+            }
+            if (term.startsWith(queryTerm)) {
+                best = Math.max(best, PREFIX_TITLE);
+            }
+        }
+        for (String term : entry.authorTerms()) {
+            if (term.equals(queryTerm)) {
+                best = Math.max(best, EXACT_AUTHOR);
+            } else if (term.startsWith(queryTerm)) {
+                best = Math.max(best, PREFIX_AUTHOR);
+            }
+        }
+        return best;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private record IndexedBook(List<String> titleTerms, List<String> authorTerms) {
+        List<String> allTerms() {
+            List<String> all = new ArrayList<>(titleTerms);
+            all.addAll(authorTerms);
+            return all;
+        }
+    }
+}
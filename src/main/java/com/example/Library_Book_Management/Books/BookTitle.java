@@ -0,0 +1,8 @@
+package com.example.Library_Book_Management.Books;
+
+// Just the searchable fields of a book (used to build the search index)
+public interface BookTitle {
+    Long getId();
+    String getBookName();
+    String getAuthor();
+}
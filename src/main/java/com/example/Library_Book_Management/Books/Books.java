@@ -2,6 +2,10 @@ package com.example.Library_Book_Management.Books;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +15,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate // available_copies is only changed through BooksRepository.reserveCopy/releaseCopy, never written back from a stale entity
 @Table(name = "books")
 public class Books {
 
@@ -32,11 +37,22 @@ public class Books {
     private LocalDate returnDate;
     private Boolean isIssued = false;
     private Integer copies = 5;
+
+    // Copies not currently requested or issued
+    @JsonIgnore
+    private Integer availableCopies;
+
     public Books(String bookName, String author,Integer copies) {
         this.bookName = bookName;
         this.author = author;
         this.copies = copies;
+        this.availableCopies = copies;
         this.isIssued = false;
     }
+
+    // What the catalog shows as Busy: every copy is requested or issued (the is_issued column itself is never maintained)
+    public Boolean getIsIssued() {
+        return availableCopies != null && availableCopies <= 0;
+    }
     
 }
@@ -3,6 +3,10 @@ package com.example.Library_Book_Management.Books;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,22 +17,69 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.Common.ResourceVersions;
 
 @RestController
 
 @RequestMapping(path= "/book")
 public class BooksController {
   private final BooksService booksService;
+  private final ResourceVersions resourceVersions;
+  private final CatalogSnapshot catalogSnapshot;
 
   @Autowired
-  public BooksController(BooksService booksService){
+  public BooksController(BooksService booksService, ResourceVersions resourceVersions, CatalogSnapshot catalogSnapshot){
     this.booksService= booksService;
+    this.resourceVersions= resourceVersions;
+    this.catalogSnapshot= catalogSnapshot;
   }
  
   @GetMapping
-public List<Books> getBooks(@RequestParam(required = false) String search) {
-    return booksService.getBooks(search);
+public ResponseEntity<?> getBooks(@RequestParam(required = false) String search, WebRequest request) {
+    if (search == null || search.isEmpty()) {
+      return getCatalog(request);
+    }
+    return ResponseEntity.ok(booksService.getBooks(search));
 }
+
+  // The full catalog carries a strong ETag: If-None-Match gets a 304 after one version lookup, without
+  // loading or serializing the catalog. Otherwise the pre-serialized snapshot is copied out, gzipped if
+  // the client accepts it. The cached fallback goes out untagged: after a change made on another
+  // instance it can be older than the current version.
+  private ResponseEntity<?> getCatalog(WebRequest request) {
+    String etag = resourceVersions.catalogTag();
+    CatalogSnapshot.Snapshot snapshot = catalogSnapshot.current(etag);
+    boolean gzip = snapshot != null && CatalogSnapshot.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String tag = gzip ? CatalogSnapshot.gzipTag(etag) : etag;
+
+    if (request.checkNotModified(tag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(ResourceVersions.REVALIDATE)
+          .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+    }
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(tag).cacheControl(ResourceVersions.REVALIDATE)
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (snapshot == null) {
+      return ResponseEntity.ok().cacheControl(ResourceVersions.REVALIDATE).body(booksService.getBooks());
+    }
+    if (gzip) {
+      return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").contentType(MediaType.APPLICATION_JSON).body(snapshot.gzip());
+    }
+    return ok.contentType(MediaType.APPLICATION_JSON).body(snapshot.json());
+  }
+
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<Books>> getBooksPage(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    try {
+      return ResponseEntity.ok(booksService.getBooksPage(cursor, size));
+    } catch (IllegalStateException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
   @PostMapping
   public void registerNewBooks(@RequestBody Books books){
     booksService.addBooks(books);
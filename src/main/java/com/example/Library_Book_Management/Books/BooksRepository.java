@@ -1,14 +1,19 @@
 package com.example.Library_Book_Management.Books;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+
 import jakarta.persistence.LockModeType;
 
 @Repository
@@ -20,6 +25,31 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
     @Query("select b from Books b where b.id = :id")
     Optional<Books> findByIdForUpdate(@Param("id") Long id);
 
-    List<Books> findByBookNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(String bookName, String author);
+    // Keyset pagination
+    List<Books> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select b.id as id, b.bookName as bookName, b.author as author from Books b")
+    List<BookTitle> findAllTitles();
+
+    // Take one copy if any is left. Single conditional UPDATE, so the row lock lasts one statement. Returns 0 if none left.
+    @Modifying
+    @Query("update Books b set b.availableCopies = b.availableCopies - 1 where b.id = :id and b.availableCopies > 0")
+    int reserveCopy(@Param("id") Long id);
+
+    // Give one copy back (never above the total number of copies)
+    @Modifying
+    @Query("update Books b set b.availableCopies = b.availableCopies + 1 where b.id = :id and b.availableCopies < b.copies")
+    int releaseCopy(@Param("id") Long id);
+
+    // Copies left after this transaction's reserve/release, to tell when a title became fully booked or free again
+    @Query("select b.id as id, b.availableCopies as availableCopies from Books b where b.id in :ids")
+    List<BookAvailability> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Fill available_copies for rows created before the column existed
+    @Modifying
+    @Query("update Books b set b.availableCopies = coalesce(b.copies, 1) - "
+            + "(select count(bi) from BookIssue bi where bi.book = b and bi.status in :statuses) "
+            + "where b.availableCopies is null")
+    int backfillAvailableCopies(@Param("statuses") List<IssueStatus> statuses);
 }
 
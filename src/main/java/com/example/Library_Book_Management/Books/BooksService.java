@@ -1,41 +1,86 @@
 package com.example.Library_Book_Management.Books;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.example.Library_Book_Management.BookIssue.BookAvailabilityTracker;
 import com.example.Library_Book_Management.BookIssue.BookIssueRepository;
 import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.Common.CursorPaging;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Config.CacheConfig;
+import com.example.Library_Book_Management.Config.ReadRouting;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 
 @Service
 public class BooksService {
  private final BooksRepository booksRepository;
  private final BookIssueRepository bookIssueRepository;
+ private final BookAvailabilityTracker availabilityTracker;
+ private final BookSearchIndex searchIndex;
+ private final CursorPaging cursorPaging;
+ private final ResourceVersions resourceVersions;
+ private final CatalogSnapshot catalogSnapshot;
  @Autowired
- public BooksService(BooksRepository booksRepository, BookIssueRepository bookIssueRepository){
+ public BooksService(BooksRepository booksRepository, BookIssueRepository bookIssueRepository, BookAvailabilityTracker availabilityTracker, BookSearchIndex searchIndex, CursorPaging cursorPaging, ResourceVersions resourceVersions, CatalogSnapshot catalogSnapshot){
     this.booksRepository= booksRepository;
     this.bookIssueRepository= bookIssueRepository;
+    this.availabilityTracker= availabilityTracker;
+    this.searchIndex= searchIndex;
+    this.cursorPaging= cursorPaging;
+    this.resourceVersions= resourceVersions;
+    this.catalogSnapshot= catalogSnapshot;
  }
 
+ // Whole catalog, cached until a book is added, updated or deleted
+ // Filled from the primary: a lagging replica would cache the catalog from before the change
+ @Cacheable(cacheNames = CacheConfig.BOOKS, key = "'all'")
  public List<Books> getBooks(){
-    return booksRepository.findAll();
+    return ReadRouting.onPrimary(booksRepository::findAll);
+ }
+
+ public CursorPage<Books> getBooksPage(String cursor, Integer size){
+    int pageSize = cursorPaging.size(size);
+    List<Books> rows = booksRepository.findByIdGreaterThanOrderByIdAsc(cursorPaging.afterId(cursor), cursorPaging.limit(pageSize));
+    return cursorPaging.page(rows, pageSize, Books::getId);
  }
 
+ @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
  public void addBooks(Books books){
     Optional<Books> booksOptional=booksRepository.findBooksByBookName(books.getBookName());
     if(booksOptional.isPresent()){
         throw new IllegalStateException("book is already present");
     }
+    books.setAvailableCopies(books.getCopies() != null ? books.getCopies() : 1);
     booksRepository.save(books);
+    searchIndex.index(books);
+    catalogChanged();
+ }
+
+ // Books saved before available_copies existed start with NULL there
+ @Transactional
+ @EventListener(ApplicationReadyEvent.class)
+ public void backfillAvailableCopies(){
+    booksRepository.backfillAvailableCopies(IssueStatus.ACTIVE);
  }
 
 // inside BooksService.java
 
+@CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
 public void deleteBooks(Long bookId) {
     boolean exist = booksRepository.existsById(bookId);
     if (!exist) {
@@ -43,27 +88,36 @@ public void deleteBooks(Long bookId) {
     }
 
     
-    boolean isActive = bookIssueRepository.existsByBookIdAndStatusIn(
-            bookId, 
-            List.of(IssueStatus.REQUESTED, IssueStatus.ISSUED) // Check these statuses
-    );
+    boolean isActive = bookIssueRepository.existsActiveByBookId(bookId); // Requested, Issued or Overdue
 
     if (isActive) {
         throw new IllegalStateException("⚠️ Cannot delete. Book is currently Issued or Requested!");
     }
 
     booksRepository.deleteById(bookId);
+    availabilityTracker.forget(bookId);
+    searchIndex.remove(bookId);
+    catalogChanged();
 }
 
-// search a book
+// search a book (ranked, matches word prefixes of title and author)
+@Timed(value = "library.books.search", histogram = true)
 public List <Books> getBooks(String search){
     if( search !=null && !search.isEmpty()){
-        return booksRepository.findByBookNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(search, search);
+        List<Long> rankedIds = searchIndex.search(search);
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        List<Books> found = booksRepository.findAllById(rankedIds);
+        found.sort(Comparator.comparingInt(book -> rank.get(book.getId())));
+        return found;
     }
     return booksRepository.findAll();
 }
  
 @Transactional
+@CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
 public void updateBooks(Long bookId, Books updatedBook) {
     Books existingBook = booksRepository.findById(bookId)
         .orElseThrow(() -> new IllegalStateException("Book not found"));
@@ -77,6 +131,22 @@ public void updateBooks(Long bookId, Books updatedBook) {
     }
 
     booksRepository.save(existingBook);
+    searchIndex.index(existingBook);
+    catalogChanged();
+    // Title and author also appear in every issue history
+    resourceVersions.allHistoriesChanged();
+}
+
+// The catalog shows which titles are fully booked: called when a title's last copy was taken or its first came back
+@CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+public void availabilityChanged() {
+    catalogChanged();
+}
+
+// New catalog ETag and a fresh pre-serialized snapshot, both once the change has committed
+private void catalogChanged() {
+    resourceVersions.catalogChanged();
+    catalogSnapshot.rebuildAfterCommit();
 }
 
 }
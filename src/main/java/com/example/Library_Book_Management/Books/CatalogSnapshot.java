@@ -0,0 +1,154 @@
+package com.example.Library_Book_Management.Books;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Config.ReadRouting;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The full catalog (GET /book) as ready-made bytes: the JSON and its gzip form.
+ *
+ * Rebuilt on a background thread after every committed catalog change, or when
+ * the catalog version moved on another instance, so the request path only copies
+ * a buffer. A snapshot is served only while its tag matches the current catalog
+ * version; until the rebuild lands, requests fall back to the regular cached list.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot {
+
+    public record Snapshot(String etag, byte[] json, byte[] gzip) {
+    }
+
+    private final BooksRepository booksRepository;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
+    private final Timer rebuildTimer;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Coalesces bursts of changes into one rebuild
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public CatalogSnapshot(BooksRepository booksRepository, ResourceVersions resourceVersions,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.booksRepository = booksRepository;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
+        this.rebuildTimer = Timer.builder("library.catalog.snapshot.rebuild")
+                .description("Time to load, serialize and compress the catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    // The snapshot for this catalog version, or null while it is being rebuilt.
+    // A version this instance has not built yet may come from a change made on another one.
+    public Snapshot current(String etag) {
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals(etag)) {
+            return current;
+        }
+        scheduleRebuild();
+        return null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAfterCommit();
+    }
+
+    // Inside a transaction: schedule the rebuild once the change has committed
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleRebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleRebuild();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] coding = part.trim().split(";");
+            if (coding[0].trim().equalsIgnoreCase("gzip")) {
+                return coding.length < 2 || !coding[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Each encoding is its own representation, so it gets its own strong tag
+    public static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+        // Tag first, then data: the snapshot can only be newer than its tag, never older
+        String etag = resourceVersions.catalogTag();
+        try {
+            snapshot = rebuildTimer.recordCallable(() -> {
+                List<Books> books = ReadRouting.onPrimary(booksRepository::findAll);
+                byte[] json = objectMapper.writeValueAsBytes(books);
+                return new Snapshot(etag, json, gzip(json));
+            });
+        } catch (Exception e) {
+            log.warn("Catalog snapshot rebuild failed, serving the catalog from the cache", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        // Built once per change and served many times, so spend the CPU on the best ratio
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
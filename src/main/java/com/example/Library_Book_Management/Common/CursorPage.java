@@ -0,0 +1,16 @@
+package com.example.Library_Book_Management.Common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One page of a keyset-paginated list. Pass nextCursor back as ?cursor= to get the next page (null = last page).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,60 @@
+package com.example.Library_Book_Management.Common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Helpers for keyset ("id greater than cursor") pagination.
+ * Cursors are opaque to clients: the last id of the page, base64 encoded.
+ */
+@Component
+public class CursorPaging {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorPaging(@Value("${library.pagination.default-size:50}") int defaultSize,
+                        @Value("${library.pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int size(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // One extra row tells us whether there is a next page without a COUNT query
+    public Limit limit(int size) {
+        return Limit.of(size + 1);
+    }
+
+    public Long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid cursor");
+        }
+    }
+
+    public <T> CursorPage<T> page(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        String next = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(idOf.apply(items.get(size - 1))).getBytes(StandardCharsets.UTF_8));
+        return new CursorPage<>(List.copyOf(items), next);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.Library_Book_Management.Common;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One ETag counter (see ResourceVersions); read and bumped with plain SQL, mapped so the test schema has the table
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "resource_version")
+public class ResourceVersion {
+
+    @Id
+    @Column(length = 16)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+}
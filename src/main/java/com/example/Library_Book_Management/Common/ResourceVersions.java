@@ -0,0 +1,140 @@
+package com.example.Library_Book_Management.Common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Version counters behind the strong ETags of GET /book and GET /issue/my-history,
+ * so a matching If-None-Match is answered with 304 after one primary-key lookup
+ * instead of the full query and JSON.
+ *
+ * Counters live in resource_version and are bumped in the transaction that made
+ * the change, so every instance sees a new tag exactly when the data committed.
+ * Readers take the tag before they query, so a tag can only ever be older than
+ * the data it is sent with, never newer. Student histories share a fixed set of
+ * striped counters: a change to one student may also refresh a few others, which
+ * costs a 200 but never serves stale data.
+ */
+@Component
+public class ResourceVersions {
+
+    // Browsers keep the body but revalidate every time. Set explicitly, because Spring Security's
+    // default no-store would stop them from ever sending If-None-Match.
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final int STUDENT_STRIPES = 4096;
+    private static final String CATALOG = "catalog";
+    // Changes that touch every history at once (book renamed, overdue scan)
+    private static final String ALL_HISTORIES = "histories";
+
+    private static final String READ =
+            "SELECT name, version FROM resource_version WHERE name IN (:names)";
+    private static final String OPEN =
+            "INSERT INTO resource_version (name, version) VALUES (:name, 0) ON CONFLICT DO NOTHING";
+    private static final String BUMP =
+            "UPDATE resource_version SET version = version + 1 WHERE name = :name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ResourceVersions(DataSource dataSource, EntityManager entityManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.entityManager = entityManager;
+    }
+
+    public String catalogTag() {
+        return "\"c-" + read(List.of(CATALOG)).getOrDefault(CATALOG, 0L) + "\"";
+    }
+
+    public String historyTag(Long studentId) {
+        String stripe = stripe(studentId);
+        Map<String, Long> versions = read(List.of(ALL_HISTORIES, stripe));
+        return "\"h-" + versions.getOrDefault(ALL_HISTORIES, 0L) + "-" + versions.getOrDefault(stripe, 0L) + "\"";
+    }
+
+    public void catalogChanged() {
+        bump(CATALOG);
+    }
+
+    public void historyChanged(Long studentId) {
+        bump(stripe(studentId));
+    }
+
+    public void allHistoriesChanged() {
+        bump(ALL_HISTORIES);
+    }
+
+    private static String stripe(Long studentId) {
+        return "h-" + (Long.hashCode(studentId) & (STUDENT_STRIPES - 1));
+    }
+
+    private Map<String, Long> read(List<String> names) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(READ, new MapSqlParameterSource("names", names),
+                rs -> { versions.put(rs.getString("name"), rs.getLong("version")); });
+        return versions;
+    }
+
+    // Collected per transaction and written just before commit: one bump per counter however
+    // many rows changed, and the counter rows stay locked only for the commit itself
+    private void bump(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Set.of(name));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> names = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, names);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // After every other pre-commit write, so no row lock is taken while these are held
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Pending entity updates would otherwise be flushed (and locked) after the counters
+                    entityManager.flush();
+                    write(names);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersions.this);
+                }
+            });
+            pending = names;
+        }
+        pending.add(name);
+    }
+
+    // Names arrive sorted, so concurrent commits lock the counter rows in the same order
+    private void write(Set<String> names) {
+        SqlParameterSource[] params = names.stream()
+                .map(name -> new MapSqlParameterSource("name", name))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(OPEN, params);
+        jdbcTemplate.batchUpdate(BUMP, params);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.Library_Book_Management.Config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,11 +9,12 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.example.Library_Book_Management.User.User;
 import com.example.Library_Book_Management.User.UserRepo;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -23,22 +25,28 @@ public class ApplicationConfig {
 
     @Bean
     public UserDetailsService userDetailsService(){
-        return  username -> repo.findByEmail(username)
+        return  username -> repo.findByEmail(User.normalizeEmail(username))
         .orElseThrow(()-> new UsernameNotFoundException("UserName not found"));
     }
     @Bean
-    public AuthenticationProvider authenticationProvider(){
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
        DaoAuthenticationProvider authProvider= new DaoAuthenticationProvider();
        authProvider.setUserDetailsService(userDetailsService());
-       authProvider.setPasswordEncoder(passwordEncoder());
+       authProvider.setPasswordEncoder(passwordEncoder);
        return authProvider;
     }
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
+    // BCrypt runs on its own bounded pool (see OffloadedPasswordEncoder); cost factor, pool size and wait limit are configurable
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${library.security.bcrypt.strength:10}") int strength,
+            @Value("${library.security.bcrypt.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${library.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${library.security.bcrypt.max-wait-ms:2000}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        return new OffloadedPasswordEncoder(strength, threads, queueCapacity, maxWaitMs, meterRegistry);
     }
 }
@@ -0,0 +1,40 @@
+package com.example.Library_Book_Management.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process caches for read-mostly data (the book catalog, student profiles).
+ *
+ * Caffeine gives size-bounded W-TinyLFU eviction plus a TTL as a safety net;
+ * the services evict explicitly on every write. Evictions made inside a
+ * transaction only happen after it commits, so a concurrent read cannot put
+ * the old row back. Hit/miss/eviction counts show up as cache.* metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String STUDENTS_BY_EMAIL = "studentsByEmail";
+    public static final String STUDENTS_BY_ROLL_NO = "studentsByRollNo";
+
+    // Specs use Caffeine's syntax, e.g. maximumSize=10000,expireAfterWrite=30m (stats are always recorded)
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${library.cache.books.spec:maximumSize=16,expireAfterWrite=10m}") String booksSpec,
+            @Value("${library.cache.students.spec:maximumSize=10000,expireAfterWrite=30m}") String studentsSpec) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.registerCustomCache(BOOKS, Caffeine.from(booksSpec).recordStats().build());
+        caffeine.registerCustomCache(STUDENTS_BY_EMAIL, Caffeine.from(studentsSpec).recordStats().build());
+        caffeine.registerCustomCache(STUDENTS_BY_ROLL_NO, Caffeine.from(studentsSpec).recordStats().build());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.Library_Book_Management.Config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Databases created by ddl-auto before migrations existed have tables but no flyway history.
+    // Baseline them at version 0 so V1 (all IF NOT EXISTS) and everything after it still runs.
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.Library_Book_Management.Config;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Verified tokens -> principal, so a token seen before skips signature
+ * verification. Bounded in size, and each entry expires together with its token.
+ */
+@Component
+public class JWTAuthenticationCache {
+
+    private final Cache<String, Entry> cache;
+
+    public JWTAuthenticationCache(@Value("${library.security.jwt.cache-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String token, Entry entry, long currentTime) {
+                        return Math.max(0, Duration.ofMillis(entry.expiresAtMillis() - System.currentTimeMillis()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public UserDetails get(String token) {
+        Entry entry = cache.getIfPresent(token);
+        if (entry == null || entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public void put(String token, UserDetails principal, Date expiresAt) {
+        cache.put(token, new Entry(principal, expiresAt.getTime()));
+    }
+
+    private record Entry(UserDetails principal, long expiresAtMillis) {
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.Library_Book_Management.Config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,13 +20,32 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class JWTFilter extends OncePerRequestFilter { 
+public class JWTFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
-    private final UserDetailsService userDetailsService; 
+    private final UserDetailsService userDetailsService;
+    private final JWTAuthenticationCache authenticationCache;
+    // library.auth.jwt.filter{result=cached|verified|invalid|rejected}: time spent authenticating, not the request
+    private final Map<String, Timer> timers;
+
+    public JWTFilter(JWTService jwtService, UserDetailsService userDetailsService,
+                     JWTAuthenticationCache authenticationCache, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.timers = Stream.of("cached", "verified", "invalid", "rejected")
+                .collect(Collectors.toUnmodifiableMap(result -> result, result -> Timer.builder("library.auth.jwt.filter")
+                        .tag("result", result)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+    }
 
     @Override
     protected void doFilterInternal(
@@ -32,44 +56,87 @@ public class JWTFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        try {
-            userEmail = jwtService.extractUsername(jwt);
-        } catch (Exception e) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        jwt = authHeader.substring(7);
+        long start = System.nanoTime();
+        String result = "cached";
+        UserDetails principal = authenticationCache.get(jwt);
+
+        if (principal == null) {
+            // Cache miss: verify signature + expiry with a single parse
+            final Claims claims;
             try {
-                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) { 
-                
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                claims = jwtService.extractAllClaims(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                recordTime("invalid", start);
+                filterChain.doFilter(request, response);
+                return;
             }
-                
+            // A token that never expires would stay valid (and cached) forever
+            if (claims.getExpiration() == null) {
+                recordTime("invalid", start);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            result = "verified";
+            try {
+                principal = toPrincipal(claims);
+                if (principal != null) {
+                    authenticationCache.put(jwt, principal, claims.getExpiration());
+                }
             } catch (Exception e) {
-       
-            System.out.println("Cannot set user authentication: " + e.getMessage());
+                principal = null;
+                result = "rejected";
+                log.warn("Cannot set user authentication: {}", e.getMessage());
             }
         }
-        
+
+        if (principal != null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    principal.getAuthorities()
+            );
+
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+
+        recordTime(result, start);
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void recordTime(String result, long start) {
+        timers.get(result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // The role claim written by JWTService.generateToken is enough to build the principal without a database
+    // lookup. Older tokens without it fall back to loading the user.
+    private UserDetails toPrincipal(Claims claims) {
+        String email = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (email == null) {
+            return null;
+        }
+        if (role == null) {
+            return userDetailsService.loadUserByUsername(email);
+        }
+        return User.withUsername(email)
+                .password("")
+                .authorities(role)
+                .build();
+    }
+}
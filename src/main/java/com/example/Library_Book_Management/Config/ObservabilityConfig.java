@@ -0,0 +1,30 @@
+package com.example.Library_Book_Management.Config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics wiring: @Timed support for the service methods, the per-request SQL
+ * statement counter, and the actuator defaults in library-defaults.properties
+ * (Prometheus scrape endpoint, histograms). Anything in application.properties
+ * or the environment overrides those defaults.
+ */
+@Configuration
+@PropertySource("classpath:library-defaults.properties")
+public class ObservabilityConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", new SqlStatementCounter());
+    }
+}
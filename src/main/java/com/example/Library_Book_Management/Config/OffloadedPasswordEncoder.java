@@ -0,0 +1,123 @@
+package com.example.Library_Book_Management.Config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BCrypt on a small dedicated pool, so at most `threads` hashes run at once.
+ *
+ * The request thread still waits for its hash; what the pool bounds is the CPU
+ * spent on BCrypt and how long a caller can be held. When the pool and its queue
+ * are full, or the hash has not finished within maxWaitMs, the call fails with
+ * PasswordHashingBusyException (HTTP 429) instead of piling up, so a login storm
+ * cannot keep every servlet thread parked behind the hashing queue.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final long maxWaitMs;
+
+    public OffloadedPasswordEncoder(int strength, int threads, int queueCapacity, long maxWaitMs, MeterRegistry registry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.maxWaitMs = maxWaitMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("library.auth.password.hash")
+                .description("Time spent hashing/verifying passwords (excluding queue wait)")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.matchesTimer = Timer.builder("library.auth.password.hash")
+                .description("Time spent hashing/verifying passwords (excluding queue wait)")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("library.auth.password.rejected")
+                .description("Password operations refused or timed out because the hashing pool was saturated")
+                .register(registry);
+        Gauge.builder("library.auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("library.auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Called by Spring on shutdown (inferred destroy method)
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: drop it so the worker does not hash for a caller that has gone
+            future.cancel(false);
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
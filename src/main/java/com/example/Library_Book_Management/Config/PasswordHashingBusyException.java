@@ -0,0 +1,12 @@
+package com.example.Library_Book_Management.Config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Every password-hashing worker is busy and the wait queue is full: ask the client to retry later
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many login attempts right now, please try again in a moment");
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Library_Book_Management.Config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write split, on when library.replica.urls lists one or more replica JDBC
+ * URLs (LIBRARY_REPLICA_URLS). The primary pool is built from spring.datasource.*
+ * as before; each replica gets its own read-only pool with the same
+ * spring.datasource.hikari.* settings. See docker-compose.replica.yml.
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.replica.urls")
+public class ReadReplicaConfig {
+
+    // Not a standby, or streaming and caught up, counts as no lag. A standby whose WAL receiver is not
+    // streaming has replayed everything it received, but cannot tell how far behind the primary it is,
+    // so it reports -1 (disconnected). status is only visible with pg_read_all_stats; without it, a
+    // running receiver is taken as streaming.
+    private static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming') THEN -1 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT), 0) END";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${library.replica.urls}") List<String> urls,
+            @Value("${library.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${library.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${library.replica.connection-timeout-ms:1000}") long connectionTimeoutMs,
+            @Value("${library.replica.read-your-writes-ms:5000}") long readYourWritesMs,
+            @Value("${library.replica.max-lag-ms:10000}") long maxLagMs,
+            @Value("${library.replica.lag-query:}") String lagQuery) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        // Not a bean, so Spring Boot's pool metrics only find it by unwrapping the router; register it here
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            String name = "replica-" + replicas.size();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // A replica that is down must not hold up requests or startup; reads fail over instead
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesMs, maxLagMs,
+                lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery, meterRegistry);
+    }
+
+    // What JPA, Flyway and the JDBC templates use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
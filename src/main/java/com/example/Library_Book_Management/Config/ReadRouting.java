@@ -0,0 +1,33 @@
+package com.example.Library_Book_Management.Config;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins reads to the primary database when a read replica is configured
+ * (ReadReplicaConfig); without one it does nothing.
+ *
+ * Use it for reads that fill a cache or a versioned snapshot right after a
+ * change: a lagging replica would put the old rows back under the new version.
+ * Only connections taken inside the call are affected.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<int[]> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ReadRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> reads) {
+        int[] depth = PRIMARY_DEPTH.get();
+        depth[0]++;
+        try {
+            return reads.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    static boolean primaryRequired() {
+        return PRIMARY_DEPTH.get()[0] > 0;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.Library_Book_Management.Config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and
+ * everything else to the primary. Meant to sit behind a
+ * LazyConnectionDataSourceProxy, so the choice is made at the first statement,
+ * once the transaction's read-only flag is known.
+ *
+ * Reads still go to the primary when:
+ * - the current user committed a write within the read-your-writes window,
+ *   so a student sees their own request or return straight away;
+ * - the caller is inside ReadRouting.onPrimary;
+ * - no replica is healthy. The health check marks a replica down when it is
+ *   unreachable, lags by more than max-lag or reports a negative lag (not
+ *   replicating), and a failed connection marks it down immediately.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long readYourWritesMs;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter failovers;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long readYourWritesMs,
+                                    long maxLagMs, String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWritesMs = readYourWritesMs;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, PRIMARY);
+        this.failovers = Counter.builder("library.datasource.replica.failover")
+                .description("Read-only connections sent to the primary because a replica failed")
+                .register(meterRegistry);
+        Gauge.builder("library.datasource.replicas.healthy", this.replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .description("Read replicas currently taking read-only transactions")
+                .register(meterRegistry);
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return PRIMARY;
+        }
+        Replica replica = ReadRouting.primaryRequired() || wroteRecently() ? null : nextHealthy();
+        (replica != null ? replicaReads : primaryReads).increment();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        Replica replica = PRIMARY.equals(key) ? null : replica(key);
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            failovers.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.replica.health-check-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem != null) {
+                markDown(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica {} is healthy again, sending reads to it", replica.name);
+            }
+        }
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWrites.values().removeIf(at -> at < cutoff);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Null when the replica answers and is caught up, otherwise the reason it is not
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet lag = statement.executeQuery(lagQuery)) {
+            long lagMs = lag.next() ? lag.getLong(1) : 0;
+            if (lagMs < 0) {
+                return "not replicating from the primary";
+            }
+            return lagMs > maxLagMs ? "lagging by " + lagMs + " ms" : null;
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation ({}), reads go to the primary", replica.name, reason);
+        }
+    }
+
+    private Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica replica(Object name) {
+        return replicas.stream().filter(r -> r.name.equals(name)).findFirst().orElse(null);
+    }
+
+    // Stamped after commit: from then on the writer's reads see the primary for the window
+    private void rememberWrite() {
+        String user = currentUser();
+        if (user == null || readYourWritesMs <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(user, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private boolean wroteRecently() {
+        String user = currentUser();
+        Long at = user != null ? lastWrites.get(user) : null;
+        return at != null && System.currentTimeMillis() - at < readYourWritesMs;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("library.datasource.reads")
+                .description("Read-only transactions by the database they were sent to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -38,12 +38,19 @@ public class SecurityConfiguration {
             .authorizeHttpRequests(auth -> auth
                 //public endpoints
                 .requestMatchers("/register", "/login", "/error").permitAll() 
+                // health checks and the Prometheus scrape; actuator is only served on management.server.port,
+                // which is not published. The rest of actuator (metrics, info) is for librarians.
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("LIBRARIAN")
                 
                 .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll() 
                 //Libarian only allowed
                 .requestMatchers(org.springframework.http.HttpMethod.DELETE, "/book/**").hasAuthority("LIBRARIAN")
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/book/**").hasAuthority("LIBRARIAN")
                 .requestMatchers(org.springframework.http.HttpMethod.PUT, "/book/**").hasAuthority("LIBRARIAN")
+                .requestMatchers("/issue/bulk/**", "/issue/events").hasAuthority("LIBRARIAN")
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/fines/**").hasAuthority("LIBRARIAN")
+                .requestMatchers("/stats/**").hasAuthority("LIBRARIAN")
                 //Both libarian and student can see the book
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/book/**").authenticated()
                 .anyRequest().authenticated()
@@ -0,0 +1,40 @@
+package com.example.Library_Book_Management.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * SqlStatementMetricsFilter can report how many statements each request cost.
+ * Statements sent through JdbcTemplate (export, bulk desk operations) are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    // Start counting on this thread (returns the previous counter so nested use can restore it)
+    static int[] start() {
+        int[] previous = COUNT.get();
+        COUNT.set(new int[1]);
+        return previous;
+    }
+
+    // Stop counting and return how many statements ran since start()
+    static int stop(int[] previous) {
+        int[] counter = COUNT.get();
+        if (previous == null) {
+            COUNT.remove();
+        } else {
+            COUNT.set(previous);
+        }
+        return counter != null ? counter[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNT.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// A ledger line about to be written (see FineService.record)
+public record FineCharge(Long studentId, Long issueId, FineEntryType type, BigDecimal amount, LocalDate periodEnd) {
+}
@@ -0,0 +1,46 @@
+package com.example.Library_Book_Management.Fine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.Library_Book_Management.Student.StudentService;
+
+@RestController
+@RequestMapping(path = "/fines")
+public class FineController {
+
+    private final FineService fineService;
+    private final StudentService studentService;
+
+    @Autowired
+    public FineController(FineService fineService, StudentService studentService) {
+        this.fineService = fineService;
+        this.studentService = studentService;
+    }
+
+    // Balance plus the latest ledger lines: ?size=<number of lines>
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<FineSummary> getStudentFines(@PathVariable Long studentId,
+                                                       @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(fineService.summary(studentId, size));
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<FineSummary> getMyFines(@RequestParam String rollNo,
+                                                  @RequestParam(required = false) Integer size) {
+        return studentService.findByRollNo(rollNo)
+                .map(student -> ResponseEntity.ok(fineService.summary(student.getId(), size)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // LIBRARIAN: record money received at the desk
+    @PostMapping("/student/{studentId}/payments")
+    public ResponseEntity<?> pay(@PathVariable Long studentId, @RequestBody PaymentRequest request) {
+        try {
+            return ResponseEntity.ok(fineService.pay(studentId, request.getAmount()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the fine ledger. Append-only; the sum per student is kept in StudentBalance.
+// issueId is a plain column (no foreign key) so ledger lines outlive archived issues.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "fine_ledger", indexes = {
+        @Index(name = "ix_fine_ledger_student", columnList = "studentId, id"),
+        // At most one charge per issue per period: makes accrual runs safe to repeat
+        @Index(name = "ux_fine_ledger_issue_period", columnList = "issueId, periodEnd", unique = true)
+})
+public class FineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    private Long issueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private FineEntryType type;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    // Charged up to and including this day (null for payments)
+    private LocalDate periodEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
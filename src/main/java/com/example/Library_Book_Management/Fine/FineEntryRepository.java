@@ -0,0 +1,14 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FineEntryRepository extends JpaRepository<FineEntry, Long> {
+
+    // Most recent ledger lines of a student (ix_fine_ledger_student)
+    List<FineEntry> findByStudentIdOrderByIdDesc(Long studentId, Limit limit);
+}
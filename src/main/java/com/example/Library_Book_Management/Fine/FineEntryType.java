@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.Fine;
+
+public enum FineEntryType {
+    ACCRUAL,   // daily charge while a book is overdue
+    RETURN,    // final charge for the days between the last accrual and the return
+    PAYMENT    // money received (negative amount)
+}
@@ -0,0 +1,270 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Common.CursorPaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Overdue fines as an append-only ledger plus a running balance per student.
+ *
+ * Accrual is incremental: book_issue.fine_accrued_through records how far an
+ * issue has been charged, so each run only adds the days since the previous one
+ * (one ledger line per issue per run) and only reads issues that are OVERDUE now.
+ * Returning a book charges the remaining days. Every ledger line moves
+ * student_balance by the same amount in the same transaction, which keeps the
+ * borrow check a single primary-key read.
+ */
+@Slf4j
+@Service
+public class FineService {
+
+    private static final String CHARGEABLE =
+            "SELECT id, student_id, due_date, fine_accrued_through FROM book_issue "
+            + "WHERE status = :status AND due_date < :day AND id > :afterId "
+            + "AND (fine_accrued_through IS NULL OR fine_accrued_through < :day) ORDER BY id";
+    // The guard makes a period claimable once, even with two runs (or a return) racing for the row
+    private static final String CLAIM_PERIOD =
+            "UPDATE book_issue SET fine_accrued_through = :day WHERE id = :id AND status = :status "
+            + "AND (fine_accrued_through IS NULL OR fine_accrued_through < :day)";
+    private static final String INSERT_ENTRY =
+            "INSERT INTO fine_ledger (student_id, issue_id, type, amount, period_end, created_at) "
+            + "VALUES (:studentId, :issueId, :type, :amount, :periodEnd, :createdAt)";
+    private static final String OPEN_BALANCE =
+            "INSERT INTO student_balance (student_id, outstanding) VALUES (:studentId, 0) ON CONFLICT DO NOTHING";
+    private static final String ADD_TO_BALANCE =
+            "UPDATE student_balance SET outstanding = outstanding + :amount WHERE student_id = :studentId";
+    private static final String TAKE_PAYMENT =
+            "UPDATE student_balance SET outstanding = outstanding - :amount WHERE student_id = :studentId AND outstanding >= :amount";
+
+    private final StudentBalanceRepository balanceRepository;
+    private final FineEntryRepository entryRepository;
+    private final CursorPaging cursorPaging;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter accrued;
+    private final BigDecimal dailyRate;
+    private final BigDecimal blockAbove;
+    private final int chunkSize;
+
+    @Autowired
+    public FineService(StudentBalanceRepository balanceRepository,
+                       FineEntryRepository entryRepository,
+                       CursorPaging cursorPaging,
+                       DataSource dataSource,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${library.fines.daily-rate:5.00}") BigDecimal dailyRate,
+                       @Value("${library.fines.block-above:0}") BigDecimal blockAbove,
+                       @Value("${library.fines.chunk-size:500}") int chunkSize) {
+        this.balanceRepository = balanceRepository;
+        this.entryRepository = entryRepository;
+        this.cursorPaging = cursorPaging;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accrued = Counter.builder("library.fines.accrued")
+                .description("Fine ledger lines written by the accrual run")
+                .register(meterRegistry);
+        this.dailyRate = dailyRate;
+        this.blockAbove = blockAbove;
+        this.chunkSize = chunkSize;
+    }
+
+    public BigDecimal outstanding(Long studentId) {
+        return balanceRepository.findById(studentId).map(StudentBalance::getOutstanding).orElse(BigDecimal.ZERO);
+    }
+
+    // Same rule as checkCanBorrow, for callers that skip a blocked student instead of failing
+    public boolean canBorrow(Long studentId) {
+        return outstanding(studentId).compareTo(blockAbove) <= 0;
+    }
+
+    // Borrow paths call this before taking a copy
+    public void checkCanBorrow(Long studentId) {
+        BigDecimal owed = outstanding(studentId);
+        if (owed.compareTo(blockAbove) > 0) {
+            throw new IllegalStateException("Outstanding fines of " + owed + " must be paid before borrowing");
+        }
+    }
+
+    // The students among these who may not borrow (bulk issue, one query)
+    public Set<Long> blockedAmong(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Set.of();
+        }
+        return balanceRepository.findByStudentIdInAndOutstandingGreaterThan(studentIds, blockAbove).stream()
+                .map(StudentBalance::getStudentId)
+                .collect(Collectors.toSet());
+    }
+
+    // Charge for the days between the last accrual (or the due date) and the return day; null if nothing is owed
+    public FineCharge returnCharge(Long studentId, Long issueId, LocalDate dueDate, LocalDate accruedThrough, LocalDate returnDate) {
+        if (dueDate == null) {
+            return null;
+        }
+        long days = daysOwed(dueDate, accruedThrough, returnDate);
+        if (days <= 0) {
+            return null;
+        }
+        return new FineCharge(studentId, issueId, FineEntryType.RETURN, dailyRate.multiply(BigDecimal.valueOf(days)), returnDate);
+    }
+
+    // Called by BookIssueService.returnBook inside its transaction, with the issue row locked
+    @Transactional
+    public void finalizeOnReturn(BookIssue issue, LocalDate returnDate) {
+        FineCharge charge = returnCharge(issue.getStudent().getId(), issue.getId(), issue.getDueDate(),
+                issue.getFineAccruedThrough(), returnDate);
+        if (charge != null) {
+            issue.setFineAccruedThrough(returnDate);
+            record(List.of(charge));
+        }
+    }
+
+    // Write ledger lines and move the balances by the same amounts (joins the caller's transaction)
+    @Transactional
+    public void record(List<FineCharge> charges) {
+        if (charges.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, charges.stream()
+                .map(c -> new MapSqlParameterSource()
+                        .addValue("studentId", c.studentId())
+                        .addValue("issueId", c.issueId())
+                        .addValue("type", c.type().name())
+                        .addValue("amount", c.amount())
+                        .addValue("periodEnd", c.periodEnd() != null ? Date.valueOf(c.periodEnd()) : null)
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new));
+
+        // One balance update per student, in id order so concurrent batches lock rows the same way
+        Map<Long, BigDecimal> perStudent = new TreeMap<>();
+        charges.forEach(c -> perStudent.merge(c.studentId(), c.amount(), BigDecimal::add));
+        SqlParameterSource[] balances = perStudent.entrySet().stream()
+                .map(e -> new MapSqlParameterSource().addValue("studentId", e.getKey()).addValue("amount", e.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(OPEN_BALANCE, balances);
+        jdbcTemplate.batchUpdate(ADD_TO_BALANCE, balances);
+    }
+
+    @Transactional
+    public FineSummary pay(Long studentId, BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0 || amount.scale() > 2) {
+            throw new IllegalStateException("Payment must be a positive amount with at most two decimals");
+        }
+        int updated = jdbcTemplate.update(TAKE_PAYMENT, new MapSqlParameterSource()
+                .addValue("studentId", studentId)
+                .addValue("amount", amount));
+        if (updated == 0) {
+            throw new IllegalStateException("Payment exceeds the outstanding balance of " + outstanding(studentId));
+        }
+        jdbcTemplate.update(INSERT_ENTRY, new MapSqlParameterSource()
+                .addValue("studentId", studentId)
+                .addValue("issueId", null)
+                .addValue("type", FineEntryType.PAYMENT.name())
+                .addValue("amount", amount.negate())
+                .addValue("periodEnd", null)
+                .addValue("createdAt", Timestamp.valueOf(LocalDateTime.now())));
+        return summary(studentId, null);
+    }
+
+    public FineSummary summary(Long studentId, Integer size) {
+        List<FineEntry> entries = entryRepository.findByStudentIdOrderByIdDesc(studentId, Limit.of(cursorPaging.size(size)));
+        return new FineSummary(studentId, outstanding(studentId), entries);
+    }
+
+    // Hourly like the overdue scan (and after it); a day is only ever charged once, so repeats are no-ops
+    @Scheduled(cron = "${library.fines.cron:0 15 * * * *}")
+    public void scheduledAccrual() {
+        int charged = accrue(LocalDate.now());
+        if (charged > 0) {
+            log.info("Accrued fines on {} overdue issues", charged);
+        }
+    }
+
+    // Charges every OVERDUE issue up to and including the given day; returns how many issues were charged
+    public synchronized int accrue(LocalDate day) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            int[] charged = new int[1];
+            List<Chargeable> chunk = transactionTemplate.execute(status -> {
+                List<Chargeable> rows = jdbcTemplate.query(CHARGEABLE + " LIMIT " + chunkSize, new MapSqlParameterSource()
+                                .addValue("status", IssueStatus.OVERDUE.name())
+                                .addValue("day", Date.valueOf(day))
+                                .addValue("afterId", from),
+                        (rs, n) -> new Chargeable(rs.getLong("id"), rs.getLong("student_id"),
+                                rs.getDate("due_date").toLocalDate(),
+                                rs.getDate("fine_accrued_through") != null ? rs.getDate("fine_accrued_through").toLocalDate() : null));
+                if (rows.isEmpty()) {
+                    return rows;
+                }
+                int[] claimed = jdbcTemplate.batchUpdate(CLAIM_PERIOD, rows.stream()
+                        .map(r -> new MapSqlParameterSource()
+                                .addValue("id", r.id())
+                                .addValue("status", IssueStatus.OVERDUE.name())
+                                .addValue("day", Date.valueOf(day)))
+                        .toArray(SqlParameterSource[]::new));
+                List<FineCharge> charges = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    if (claimed[i] == 0) {
+                        continue;
+                    }
+                    Chargeable r = rows.get(i);
+                    long days = daysOwed(r.dueDate(), r.accruedThrough(), day);
+                    charges.add(new FineCharge(r.studentId(), r.id(), FineEntryType.ACCRUAL, dailyRate.multiply(BigDecimal.valueOf(days)), day));
+                }
+                record(charges);
+                charged[0] = charges.size();
+                return rows;
+            });
+            total += charged[0];
+            accrued.increment(charged[0]);
+            if (chunk == null || chunk.size() < chunkSize) {
+                return total;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    // Days after the due date, up to and including upTo, that have not been charged yet
+    private static long daysOwed(LocalDate dueDate, LocalDate accruedThrough, LocalDate upTo) {
+        LocalDate from = accruedThrough != null && accruedThrough.isAfter(dueDate) ? accruedThrough : dueDate;
+        return ChronoUnit.DAYS.between(from, upTo);
+    }
+
+    private record Chargeable(long id, long studentId, LocalDate dueDate, LocalDate accruedThrough) {
+    }
+}
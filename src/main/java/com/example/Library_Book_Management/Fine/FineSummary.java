@@ -0,0 +1,18 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outstanding balance plus the latest ledger lines, newest first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FineSummary {
+    private Long studentId;
+    private BigDecimal outstanding;
+    private List<FineEntry> entries;
+}
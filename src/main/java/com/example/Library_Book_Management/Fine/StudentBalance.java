@@ -0,0 +1,26 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running total of a student's unpaid fines, so the borrow check is a primary-key lookup
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "student_balance")
+public class StudentBalance {
+
+    @Id
+    private Long studentId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal outstanding;
+}
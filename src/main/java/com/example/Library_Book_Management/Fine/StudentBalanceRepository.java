@@ -0,0 +1,15 @@
+package com.example.Library_Book_Management.Fine;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentBalanceRepository extends JpaRepository<StudentBalance, Long> {
+
+    // Bulk issue: which of these students owe more than the limit
+    List<StudentBalance> findByStudentIdInAndOutstandingGreaterThan(Collection<Long> studentIds, BigDecimal limit);
+}
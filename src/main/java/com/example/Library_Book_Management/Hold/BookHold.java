@@ -0,0 +1,48 @@
+package com.example.Library_Book_Management.Hold;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Student.Student;
+
+// A place in the FIFO queue for a fully booked title; queue order is the id order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "book_hold", indexes = {
+        // Head of a book's queue (status = WAITING order by id)
+        @Index(name = "ix_book_hold_book_status", columnList = "books_id, status, id"),
+        @Index(name = "ix_book_hold_student_status", columnList = "student_id, status")
+})
+public class BookHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne
+    @JoinColumn(name = "books_id", nullable = false)
+    private Books book;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HoldStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime closedAt;
+
+    // The REQUESTED issue created on promotion
+    private Long issueId;
+}
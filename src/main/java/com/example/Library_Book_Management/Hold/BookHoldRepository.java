@@ -0,0 +1,30 @@
+package com.example.Library_Book_Management.Hold;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface BookHoldRepository extends JpaRepository<BookHold, Long> {
+
+    // Head of the queue, locked so two returns of the same title cannot promote the same hold
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<BookHold> findFirstByBookIdAndStatusOrderByIdAsc(Long bookId, HoldStatus status);
+
+    // Queue contents for HoldQueue (ids only)
+    @Query("select h.id from BookHold h where h.book.id = :bookId and h.status = :status order by h.id")
+    List<Long> findIdsByBookIdAndStatus(@Param("bookId") Long bookId, @Param("status") HoldStatus status);
+
+    List<BookHold> findByStudentIdAndStatusOrderByIdAsc(Long studentId, HoldStatus status);
+
+    boolean existsByStudentIdAndBookIdAndStatus(Long studentId, Long bookId, HoldStatus status);
+
+    long countByStudentIdAndStatus(Long studentId, HoldStatus status);
+}
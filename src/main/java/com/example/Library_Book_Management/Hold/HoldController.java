@@ -0,0 +1,53 @@
+package com.example.Library_Book_Management.Hold;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping(path = "/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @Autowired
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    // Join the queue for a fully booked title
+    @PostMapping("/book/{bookId}")
+    public ResponseEntity<?> placeHold(@PathVariable Long bookId, @RequestParam String rollNo) {
+        try {
+            return ResponseEntity.ok(holdService.placeHold(rollNo, bookId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<List<HoldView>> getMyHolds(@RequestParam String rollNo) {
+        return ResponseEntity.ok(holdService.getWaitingHolds(rollNo));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<String> cancelHold(@PathVariable Long holdId, @RequestParam String rollNo) {
+        try {
+            holdService.cancelHold(holdId, rollNo);
+            return ResponseEntity.ok("Hold cancelled.");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Long poll instead of polling the catalog: answers when the hold is promoted or cancelled,
+    // or with the current position after ?timeoutMs= (capped by library.holds.max-wait-ms)
+    @GetMapping("/{holdId}/await")
+    public DeferredResult<HoldView> awaitPromotion(@PathVariable Long holdId, @RequestParam String rollNo,
+                                                   @RequestParam(required = false) Long timeoutMs) {
+        return holdService.awaitPromotion(holdId, rollNo, timeoutMs);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Library_Book_Management.Hold;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory copy of every book's WAITING hold ids, so a queue position is a
+ * binary search instead of a COUNT over book_hold on every poll.
+ *
+ * Queues are loaded from the database the first time a book is asked about and
+ * kept up to date after commit. Ids grow with insertion order, so a sorted
+ * long[] per book is both the FIFO order and the position index.
+ */
+@Component
+public class HoldQueue {
+
+    private final BookHoldRepository holdRepository;
+    private final ConcurrentHashMap<Long, SortedIds> queues = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HoldQueue(BookHoldRepository holdRepository) {
+        this.holdRepository = holdRepository;
+    }
+
+    // 1-based place of a waiting hold: holds with a smaller id are ahead of it
+    public int position(Long bookId, Long holdId) {
+        return queue(bookId).countBelow(holdId) + 1;
+    }
+
+    public int length(Long bookId) {
+        return queue(bookId).size();
+    }
+
+    // Inside a transaction: apply the change once the hold row is committed
+    public void addAfterCommit(Long bookId, Long holdId) {
+        afterCommit(() -> queue(bookId).add(holdId));
+    }
+
+    public void removeAfterCommit(Long bookId, Long holdId) {
+        afterCommit(() -> queue(bookId).remove(holdId));
+    }
+
+    private SortedIds queue(Long bookId) {
+        return queues.computeIfAbsent(bookId, id -> new SortedIds(holdRepository.findIdsByBookIdAndStatus(id, HoldStatus.WAITING)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Sorted, duplicate-free ids in a primitive array (8 bytes per waiting hold)
+    private static final class SortedIds {
+        private long[] ids;
+        private int size;
+
+        SortedIds(List<Long> initial) {
+            ids = new long[Math.max(4, initial.size())];
+            for (Long id : initial) {
+                ids[size++] = id;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int countBelow(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        // A queue loaded after the commit may already hold the id, hence the duplicate check
+        synchronized void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        synchronized void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.Library_Book_Management.Hold;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.BookIssueRepository;
+import com.example.Library_Book_Management.BookIssue.CirculationEvent;
+import com.example.Library_Book_Management.BookIssue.CirculationEventType;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Fine.FineService;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FIFO hold queue for fully booked titles.
+ *
+ * When a copy comes back (return or reject) the circulation service offers it to
+ * the head of the queue first: in the same transaction the hold becomes a
+ * REQUESTED issue and the copy stays reserved for it. Students wait for that with
+ * a long poll (awaitPromotion) that is completed from memory after commit,
+ * instead of polling the catalog.
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final BookHoldRepository holdRepository;
+    private final BookIssueRepository bookIssueRepository;
+    private final BooksRepository booksRepository;
+    private final StudentService studentService;
+    private final FineService fineService;
+    private final HoldQueue holdQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersions resourceVersions;
+    private final Counter promoted;
+    private final int maxPerStudent;
+    private final long maxWaitMs;
+
+    // Open long polls per hold id
+    private final ConcurrentHashMap<Long, Set<DeferredResult<HoldView>>> waiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HoldService(BookHoldRepository holdRepository,
+                       BookIssueRepository bookIssueRepository,
+                       BooksRepository booksRepository,
+                       StudentService studentService,
+                       FineService fineService,
+                       HoldQueue holdQueue,
+                       ApplicationEventPublisher eventPublisher,
+                       ResourceVersions resourceVersions,
+                       MeterRegistry meterRegistry,
+                       @Value("${library.holds.max-per-student:5}") int maxPerStudent,
+                       @Value("${library.holds.max-wait-ms:30000}") long maxWaitMs) {
+        this.holdRepository = holdRepository;
+        this.bookIssueRepository = bookIssueRepository;
+        this.booksRepository = booksRepository;
+        this.studentService = studentService;
+        this.fineService = fineService;
+        this.holdQueue = holdQueue;
+        this.eventPublisher = eventPublisher;
+        this.resourceVersions = resourceVersions;
+        this.promoted = Counter.builder("library.holds.promoted")
+                .description("Holds turned into REQUESTED issues by a returned copy")
+                .register(meterRegistry);
+        this.maxPerStudent = maxPerStudent;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Transactional
+    public HoldView placeHold(String rollNo, Long bookId) {
+        Student student = studentService.findByRollNo(rollNo)
+                .orElseThrow(() -> new IllegalStateException("Student not found"));
+        // Locked, so a return cannot free a copy between this check and the hold being visible to promoteNext
+        Books book = booksRepository.findByIdForUpdate(bookId)
+                .orElseThrow(() -> new IllegalStateException("Book not found"));
+        fineService.checkCanBorrow(student.getId());
+
+        if (book.getAvailableCopies() != null && book.getAvailableCopies() > 0) {
+            throw new IllegalStateException("Copies are available, request the book instead.");
+        }
+        if (holdRepository.existsByStudentIdAndBookIdAndStatus(student.getId(), bookId, HoldStatus.WAITING)) {
+            throw new IllegalStateException("You are already in the queue for this book.");
+        }
+        if (holdRepository.countByStudentIdAndStatus(student.getId(), HoldStatus.WAITING) >= maxPerStudent) {
+            throw new IllegalStateException("You can hold at most " + maxPerStudent + " books at a time.");
+        }
+
+        BookHold hold = new BookHold();
+        hold.setStudent(student);
+        hold.setBook(book);
+        hold.setStatus(HoldStatus.WAITING);
+        hold.setCreatedAt(LocalDateTime.now());
+        holdRepository.save(hold);
+        holdQueue.addAfterCommit(bookId, hold.getId());
+        return view(hold);
+    }
+
+    @Transactional
+    public void cancelHold(Long holdId, String rollNo) {
+        BookHold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new IllegalStateException("Hold not found"));
+        if (!hold.getStudent().getRollNo().equals(rollNo)) {
+            throw new IllegalStateException("Hold not found");
+        }
+        if (hold.getStatus() != HoldStatus.WAITING) {
+            throw new IllegalStateException("Hold is already " + hold.getStatus());
+        }
+        close(hold, HoldStatus.CANCELLED);
+    }
+
+    public List<HoldView> getWaitingHolds(String rollNo) {
+        return studentService.findByRollNo(rollNo)
+                .map(student -> holdRepository.findByStudentIdAndStatusOrderByIdAsc(student.getId(), HoldStatus.WAITING)
+                        .stream().map(this::view).toList())
+                .orElse(List.of());
+    }
+
+    // Called by the circulation service when a copy of the book is freed, inside its transaction.
+    // Returns true if the copy went to the head of the queue (and so must stay reserved).
+    // Holds of students blocked by fines are cancelled on the way, like a borrow they could not make.
+    @Transactional
+    public boolean promoteNext(Long bookId) {
+        // Same lock as placeHold: a hold committed before this point is seen below, a later one sees the freed copy
+        booksRepository.findByIdForUpdate(bookId);
+        BookHold hold = holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(bookId, HoldStatus.WAITING).orElse(null);
+        while (hold != null && !fineService.canBorrow(hold.getStudent().getId())) {
+            close(hold, HoldStatus.CANCELLED);
+            log.debug("Hold {} cancelled, student {} is blocked by fines", hold.getId(), hold.getStudent().getId());
+            hold = holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(bookId, HoldStatus.WAITING).orElse(null);
+        }
+        if (hold == null) {
+            return false;
+        }
+
+        BookIssue issue = new BookIssue();
+        issue.setStudent(hold.getStudent());
+        issue.setBook(hold.getBook());
+        issue.setStatus(IssueStatus.REQUESTED);
+        issue.setRequestDate(LocalDate.now());
+        bookIssueRepository.save(issue);
+        eventPublisher.publishEvent(CirculationEvent.of(CirculationEventType.CREATED, issue));
+        resourceVersions.historyChanged(hold.getStudent().getId());
+
+        hold.setIssueId(issue.getId());
+        close(hold, HoldStatus.PROMOTED);
+        promoted.increment();
+        log.debug("Hold {} promoted to issue {}", hold.getId(), issue.getId());
+        return true;
+    }
+
+    // Long poll: completes as soon as the hold leaves WAITING, or with the current state after the timeout.
+    // Only the student who placed the hold can wait on it; anyone else gets the same 404 as an unknown id.
+    public DeferredResult<HoldView> awaitPromotion(Long holdId, String rollNo, Long timeoutMs) {
+        long timeout = timeoutMs == null || timeoutMs <= 0 ? maxWaitMs : Math.min(timeoutMs, maxWaitMs);
+        DeferredResult<HoldView> result = new DeferredResult<>(timeout);
+
+        boolean owned = holdRepository.findById(holdId)
+                .map(hold -> hold.getStudent().getRollNo().equals(rollNo))
+                .orElse(false);
+        if (!owned) {
+            result.setErrorResult(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Hold not found"));
+            return result;
+        }
+
+        // Register before reading the status, so a promotion committed in between is not missed
+        waiters.computeIfAbsent(holdId, id -> ConcurrentHashMap.newKeySet()).add(result);
+        result.onCompletion(() -> waiters.computeIfPresent(holdId, (id, set) -> {
+            set.remove(result);
+            return set.isEmpty() ? null : set;
+        }));
+
+        BookHold hold = holdRepository.findById(holdId).orElse(null);
+        if (hold == null) {
+            result.setErrorResult(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Hold not found"));
+        } else if (hold.getStatus() != HoldStatus.WAITING) {
+            result.setResult(view(hold));
+        } else {
+            result.onTimeout(() -> result.setResult(holdRepository.findById(holdId).map(this::view).orElse(null)));
+        }
+        return result;
+    }
+
+    // Takes the hold out of the queue and wakes its long polls once the transaction commits
+    private void close(BookHold hold, HoldStatus status) {
+        hold.setStatus(status);
+        hold.setClosedAt(LocalDateTime.now());
+        holdRepository.save(hold);
+        holdQueue.removeAfterCommit(hold.getBook().getId(), hold.getId());
+        notifyAfterCommit(view(hold));
+    }
+
+    private void notifyAfterCommit(HoldView view) {
+        Runnable notify = () -> {
+            Set<DeferredResult<HoldView>> open = waiters.remove(view.getHoldId());
+            if (open != null) {
+                open.forEach(result -> result.setResult(view));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notify.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notify.run();
+            }
+        });
+    }
+
+    private HoldView view(BookHold hold) {
+        Long bookId = hold.getBook().getId();
+        Integer position = hold.getStatus() == HoldStatus.WAITING ? holdQueue.position(bookId, hold.getId()) : null;
+        return new HoldView(hold.getId(), bookId, hold.getBook().getBookName(), hold.getStatus(), position, hold.getIssueId());
+    }
+}
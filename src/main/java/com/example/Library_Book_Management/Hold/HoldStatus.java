@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.Hold;
+
+public enum HoldStatus {
+    WAITING,    // in the queue for a copy
+    PROMOTED,   // a returned copy was turned into a REQUESTED issue for this student
+    CANCELLED
+}
@@ -0,0 +1,18 @@
+package com.example.Library_Book_Management.Hold;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What a student sees about a hold; position is 1-based and only set while WAITING
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldView {
+    private Long holdId;
+    private Long bookId;
+    private String bookName;
+    private HoldStatus status;
+    private Integer position;
+    private Long issueId;
+}
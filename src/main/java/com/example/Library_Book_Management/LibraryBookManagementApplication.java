@@ -2,8 +2,10 @@ package com.example.Library_Book_Management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LibraryBookManagementApplication {
 
 	public static void main(String[] args) {
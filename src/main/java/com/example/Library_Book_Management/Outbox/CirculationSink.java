@@ -0,0 +1,15 @@
+package com.example.Library_Book_Management.Outbox;
+
+/**
+ * Receives circulation events from the outbox relay. Register one as a bean
+ * (notifications, analytics, a message broker, ...).
+ *
+ * Delivery is at least once and in order per book: an entry can arrive again
+ * after a failure or a restart, so implementations should ignore entry ids they
+ * have already handled. Throwing holds back the book's later entries until the
+ * next relay run.
+ */
+public interface CirculationSink {
+
+    void deliver(OutboxEntry entry) throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.example.Library_Book_Management.Outbox;
+
+import java.time.LocalDateTime;
+
+import com.example.Library_Book_Management.BookIssue.CirculationEventType;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One undelivered circulation event. payload is the CirculationEvent as JSON; id order is delivery order.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "circulation_outbox")
+public class OutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long bookId;
+
+    private Long issueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CirculationEventType eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.example.Library_Book_Management.Outbox;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEntryRepository extends JpaRepository<OutboxEntry, Long> {
+
+    // Next batch for the relay (keyset on the primary key)
+    List<OutboxEntry> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
@@ -0,0 +1,120 @@
+package com.example.Library_Book_Management.Outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains circulation_outbox to the CirculationSink beans, off the request path.
+ *
+ * Entries are read in id order in batches and deleted once every sink has taken
+ * them. When delivery fails, the rest of that book's entries are held back until
+ * the next run, so a book's events are never delivered out of order; other books
+ * keep flowing. Run the relay on one instance only (library.outbox.relay-enabled).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEntryRepository outboxEntryRepository;
+    private final List<CirculationSink> sinks;
+    private final Timer lag;
+    private final Counter delivered;
+    private final Counter failed;
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final int batchSize;
+    private final boolean enabled;
+
+    @Autowired
+    public OutboxRelay(OutboxEntryRepository outboxEntryRepository,
+                       ObjectProvider<CirculationSink> sinks,
+                       MeterRegistry meterRegistry,
+                       @Value("${library.outbox.batch-size:200}") int batchSize,
+                       @Value("${library.outbox.relay-enabled:true}") boolean enabled) {
+        this.outboxEntryRepository = outboxEntryRepository;
+        this.sinks = sinks.orderedStream().toList();
+        this.lag = Timer.builder("library.outbox.lag")
+                .description("Time from commit to delivery of an outbox entry")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.delivered = Counter.builder("library.outbox.delivered")
+                .description("Outbox entries delivered to every sink")
+                .register(meterRegistry);
+        this.failed = Counter.builder("library.outbox.failed")
+                .description("Outbox delivery attempts that failed and will be retried")
+                .register(meterRegistry);
+        Gauge.builder("library.outbox.backlog", backlog, AtomicInteger::get)
+                .description("Entries left undelivered by the last relay run")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.poll-ms:1000}")
+    public void scheduledDrain() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    // Delivers what is in the outbox now; returns how many entries were delivered
+    public synchronized int drain() {
+        int total = 0;
+        int left = 0;
+        long afterId = 0;
+        Set<Long> heldBack = new HashSet<>();
+        while (true) {
+            List<OutboxEntry> batch = outboxEntryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize));
+            List<Long> done = new ArrayList<>();
+            for (OutboxEntry entry : batch) {
+                if (!heldBack.contains(entry.getBookId()) && deliver(entry)) {
+                    done.add(entry.getId());
+                } else {
+                    heldBack.add(entry.getBookId());
+                    left++;
+                }
+            }
+            if (!done.isEmpty()) {
+                outboxEntryRepository.deleteAllByIdInBatch(done);
+            }
+            total += done.size();
+            if (batch.size() < batchSize) {
+                backlog.set(left);
+                return total;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private boolean deliver(OutboxEntry entry) {
+        try {
+            for (CirculationSink sink : sinks) {
+                sink.deliver(entry);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Outbox entry {} (book {}) not delivered, retrying on the next run", entry.getId(), entry.getBookId(), e);
+            return false;
+        }
+        delivered.increment();
+        lag.record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+        return true;
+    }
+}
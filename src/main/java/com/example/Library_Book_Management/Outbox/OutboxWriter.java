@@ -0,0 +1,113 @@
+package com.example.Library_Book_Management.Outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.Library_Book_Management.BookIssue.CirculationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes every CirculationEvent to circulation_outbox in the transaction that
+ * produced it, so an entry exists exactly when the change committed.
+ *
+ * Events are collected per transaction and inserted as one JDBC batch just
+ * before commit; a bulk desk batch costs one round trip, not one per issue.
+ *
+ * Ids are handed out at insert, not at commit, so two transactions touching the
+ * same book could otherwise commit their entries in the opposite order of their
+ * ids and the relay would deliver the later one first. The batch therefore locks
+ * its books' rows before inserting: a second writer for a book waits until the
+ * first has committed, and per book, id order is commit order.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO circulation_outbox (book_id, issue_id, event_type, payload, created_at) "
+            + "VALUES (:bookId, :issueId, :eventType, :payload, :createdAt)";
+    private static final String LOCK_BOOKS =
+            "SELECT id FROM books WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxWriter(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onCirculationEvent(CirculationEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<CirculationEvent> pending = (List<CirculationEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<CirculationEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Ahead of ResourceVersions, which must be the last to take locks before commit
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE - 1;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    private void write(List<CirculationEvent> events) {
+        List<Long> bookIds = events.stream().map(CirculationEvent::getBookId).filter(Objects::nonNull).distinct().sorted().toList();
+        if (!bookIds.isEmpty()) {
+            jdbcTemplate.queryForList(LOCK_BOOKS, new MapSqlParameterSource("ids", bookIds), Long.class);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, events.stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("bookId", e.getBookId())
+                        .addValue("issueId", e.getIssueId())
+                        .addValue("eventType", e.getType().name())
+                        .addValue("payload", toJson(e))
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private String toJson(CirculationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Failing here rolls the change back rather than losing its event
+            throw new IllegalStateException("Could not serialize circulation event for issue " + event.getIssueId(), e);
+        }
+    }
+}
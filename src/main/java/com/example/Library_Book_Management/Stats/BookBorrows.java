@@ -0,0 +1,5 @@
+package com.example.Library_Book_Management.Stats;
+
+// One row of the most borrowed books
+public record BookBorrows(Long bookId, String bookName, String author, long borrows) {
+}
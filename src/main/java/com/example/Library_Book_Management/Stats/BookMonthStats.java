@@ -0,0 +1,42 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Borrows and returns of one book in one month (monthStart is the first day). Maintained by CirculationStats.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(BookMonthStats.Key.class)
+@Table(name = "stats_book_month", indexes = {
+        // Time series of one book, and top-N over a range of months
+        @Index(name = "ix_stats_book_month_month", columnList = "monthStart, bookId")
+})
+public class BookMonthStats {
+
+    @Id
+    private Long bookId;
+
+    @Id
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private long borrows;
+
+    @Column(nullable = false)
+    private long returns;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long bookId;
+        private LocalDate monthStart;
+    }
+}
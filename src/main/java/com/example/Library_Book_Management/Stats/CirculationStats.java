@@ -0,0 +1,235 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.BookIssue.CirculationEventType;
+import com.example.Library_Book_Management.BookIssue.IssueRecord;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Outbox.CirculationSink;
+import com.example.Library_Book_Management.Outbox.OutboxEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circulation counts per book and per department per month, for /stats.
+ *
+ * Fed by the outbox relay: every borrow (an issue becoming ISSUED) and every
+ * return adds one to its book-month and department-month rows, so reports read
+ * a few hundred rollup rows instead of scanning book_issue. stats_applied makes
+ * a redelivered entry count once. rebuild() recomputes everything from
+ * book_issue, for the first deployment or after a repair.
+ */
+@Slf4j
+@Service
+public class CirculationStats implements CirculationSink {
+
+    static final String UNASSIGNED = "Unassigned";
+    private static final int MAX_TOP = 100;
+    private static final int MAX_MONTHS = 120;
+
+    private static final String CLAIM_ENTRY =
+            "INSERT INTO stats_applied (outbox_id, applied_at) VALUES (:outboxId, :appliedAt) ON CONFLICT DO NOTHING";
+    // The issue may have been archived by the time its entry is relayed
+    private static final String ISSUE_KEYS =
+            "SELECT s.department FROM (" + IssueRecord.ALL_ISSUES + ") i JOIN students s ON s.id = i.student_id WHERE i.id = :issueId";
+    private static final String OPEN_BOOK_MONTH =
+            "INSERT INTO stats_book_month (book_id, month_start, borrows, returns) VALUES (:bookId, :month, 0, 0) ON CONFLICT DO NOTHING";
+    private static final String ADD_BOOK_MONTH =
+            "UPDATE stats_book_month SET borrows = borrows + :borrows, returns = returns + :returns "
+            + "WHERE book_id = :bookId AND month_start = :month";
+    private static final String OPEN_DEPARTMENT_MONTH =
+            "INSERT INTO stats_department_month (department, month_start, borrows, returns) VALUES (:department, :month, 0, 0) ON CONFLICT DO NOTHING";
+    private static final String ADD_DEPARTMENT_MONTH =
+            "UPDATE stats_department_month SET borrows = borrows + :borrows, returns = returns + :returns "
+            + "WHERE department = :department AND month_start = :month";
+
+    private static final String TOP_BOOKS =
+            "SELECT s.book_id, b.book_name, b.author, SUM(s.borrows) AS borrows FROM stats_book_month s "
+            + "LEFT JOIN books b ON b.id = s.book_id WHERE s.month_start BETWEEN :from AND :to "
+            + "GROUP BY s.book_id, b.book_name, b.author HAVING SUM(s.borrows) > 0 ORDER BY borrows DESC, s.book_id LIMIT :limit";
+    private static final String DEPARTMENTS =
+            "SELECT department, SUM(borrows) AS borrows, SUM(returns) AS returns FROM stats_department_month "
+            + "WHERE month_start BETWEEN :from AND :to GROUP BY department ORDER BY borrows DESC, department";
+    // Every event is counted in exactly one department row, so the department table also holds the totals
+    private static final String MONTHLY_TOTAL =
+            "SELECT month_start, SUM(borrows) AS borrows, SUM(returns) AS returns FROM stats_department_month "
+            + "WHERE month_start BETWEEN :from AND :to GROUP BY month_start";
+    private static final String MONTHLY_BOOK =
+            "SELECT month_start, borrows, returns FROM stats_book_month WHERE book_id = :bookId AND month_start BETWEEN :from AND :to";
+    private static final String MONTHLY_DEPARTMENT =
+            "SELECT month_start, borrows, returns FROM stats_department_month "
+            + "WHERE department = :department AND month_start BETWEEN :from AND :to";
+
+    private static final String CLEAR_BOOK_MONTHS = "DELETE FROM stats_book_month";
+    private static final String CLEAR_DEPARTMENT_MONTHS = "DELETE FROM stats_department_month";
+    // Borrows by issue month, returns by return month, over live and archived issues
+    private static final String ISSUE_EVENTS =
+            "SELECT i.books_id AS book_id, COALESCE(s.department, '" + UNASSIGNED + "') AS department, "
+            + "CAST(DATE_TRUNC('month', i.issue_date) AS DATE) AS month_start, 1 AS borrows, 0 AS returns "
+            + "FROM (" + IssueRecord.ALL_ISSUES + ") i JOIN students s ON s.id = i.student_id WHERE i.issue_date IS NOT NULL "
+            + "UNION ALL "
+            + "SELECT i.books_id, COALESCE(s.department, '" + UNASSIGNED + "'), "
+            + "CAST(DATE_TRUNC('month', i.return_date) AS DATE), 0, 1 "
+            + "FROM (" + IssueRecord.ALL_ISSUES + ") i JOIN students s ON s.id = i.student_id WHERE i.return_date IS NOT NULL";
+    private static final String REBUILD_BOOK_MONTHS =
+            "INSERT INTO stats_book_month (book_id, month_start, borrows, returns) "
+            + "SELECT book_id, month_start, SUM(borrows), SUM(returns) FROM (" + ISSUE_EVENTS + ") e GROUP BY book_id, month_start";
+    private static final String REBUILD_DEPARTMENT_MONTHS =
+            "INSERT INTO stats_department_month (department, month_start, borrows, returns) "
+            + "SELECT department, month_start, SUM(borrows), SUM(returns) FROM (" + ISSUE_EVENTS + ") e GROUP BY department, month_start";
+    // Entries still waiting in the outbox are already in book_issue
+    private static final String CLAIM_PENDING =
+            "INSERT INTO stats_applied (outbox_id, applied_at) SELECT o.id, :appliedAt FROM circulation_outbox o "
+            + "WHERE NOT EXISTS (SELECT 1 FROM stats_applied a WHERE a.outbox_id = o.id) ON CONFLICT DO NOTHING";
+    private static final String PRUNE_APPLIED = "DELETE FROM stats_applied WHERE applied_at < :before";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate rebuildTemplate;
+    private final ObjectMapper objectMapper;
+    private final int appliedRetentionDays;
+
+    @Autowired
+    public CirculationStats(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${library.stats.applied-retention-days:7}") int appliedRetentionDays) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // One snapshot for the whole rebuild: an issue committed halfway through is either counted
+        // and its outbox entry claimed, or neither (and the relay counts it later)
+        this.rebuildTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.appliedRetentionDays = appliedRetentionDays;
+    }
+
+    @Override
+    public synchronized void deliver(OutboxEntry entry) throws Exception {
+        String status = objectMapper.readTree(entry.getPayload()).path("status").asText();
+        // A borrow is an issue becoming ISSUED: a direct issue, or an approved request
+        boolean borrow = entry.getEventType() == CirculationEventType.APPROVED
+                || (entry.getEventType() == CirculationEventType.CREATED && IssueStatus.ISSUED.name().equals(status));
+        boolean returned = entry.getEventType() == CirculationEventType.RETURNED;
+        if (!borrow && !returned) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            int claimed = jdbcTemplate.update(CLAIM_ENTRY, new MapSqlParameterSource()
+                    .addValue("outboxId", entry.getId())
+                    .addValue("appliedAt", Timestamp.valueOf(LocalDateTime.now())));
+            if (claimed == 0) {
+                return;
+            }
+            List<String> departments = jdbcTemplate.query(ISSUE_KEYS, new MapSqlParameterSource("issueId", entry.getIssueId()),
+                    (rs, n) -> rs.getString("department"));
+            String department = departments.isEmpty() || departments.get(0) == null ? UNASSIGNED : departments.get(0);
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("bookId", entry.getBookId())
+                    .addValue("department", department)
+                    .addValue("month", Date.valueOf(entry.getCreatedAt().toLocalDate().withDayOfMonth(1)))
+                    .addValue("borrows", borrow ? 1 : 0)
+                    .addValue("returns", returned ? 1 : 0);
+            if (entry.getBookId() != null) {
+                jdbcTemplate.update(OPEN_BOOK_MONTH, params);
+                jdbcTemplate.update(ADD_BOOK_MONTH, params);
+            }
+            jdbcTemplate.update(OPEN_DEPARTMENT_MONTH, params);
+            jdbcTemplate.update(ADD_DEPARTMENT_MONTH, params);
+        });
+    }
+
+    public List<BookBorrows> topBooks(YearMonth from, YearMonth to, Integer limit) {
+        int size = limit == null || limit <= 0 ? 10 : Math.min(limit, MAX_TOP);
+        return jdbcTemplate.query(TOP_BOOKS, Range.of(from, to).params().addValue("limit", size),
+                (rs, n) -> new BookBorrows(rs.getLong("book_id"), rs.getString("book_name"), rs.getString("author"), rs.getLong("borrows")));
+    }
+
+    public List<DepartmentUsage> departments(YearMonth from, YearMonth to) {
+        return jdbcTemplate.query(DEPARTMENTS, Range.of(from, to).params(),
+                (rs, n) -> new DepartmentUsage(rs.getString("department"), rs.getLong("borrows"), rs.getLong("returns")));
+    }
+
+    // Whole library, or one book, or one department; one point per month of the range
+    public List<MonthlyCount> monthly(YearMonth from, YearMonth to, Long bookId, String department) {
+        if (bookId != null && department != null) {
+            throw new IllegalStateException("Filter by bookId or by department, not both");
+        }
+        Range range = Range.of(from, to);
+        MapSqlParameterSource params = range.params().addValue("bookId", bookId).addValue("department", department);
+        String sql = bookId != null ? MONTHLY_BOOK : department != null ? MONTHLY_DEPARTMENT : MONTHLY_TOTAL;
+        Map<YearMonth, MonthlyCount> found = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            YearMonth month = YearMonth.from(rs.getDate("month_start").toLocalDate());
+            found.put(month, new MonthlyCount(month, rs.getLong("borrows"), rs.getLong("returns")));
+        });
+
+        List<MonthlyCount> series = new ArrayList<>();
+        for (YearMonth month = range.first(); !month.isAfter(range.last()); month = month.plusMonths(1)) {
+            series.add(found.getOrDefault(month, new MonthlyCount(month, 0, 0)));
+        }
+        return series;
+    }
+
+    // Recomputes the rollups from book_issue in one transaction; run it while the desk is quiet
+    public synchronized void rebuild() {
+        rebuildTemplate.executeWithoutResult(tx -> {
+            MapSqlParameterSource none = new MapSqlParameterSource();
+            jdbcTemplate.update(CLEAR_BOOK_MONTHS, none);
+            jdbcTemplate.update(CLEAR_DEPARTMENT_MONTHS, none);
+            jdbcTemplate.update(REBUILD_BOOK_MONTHS, none);
+            jdbcTemplate.update(REBUILD_DEPARTMENT_MONTHS, none);
+            jdbcTemplate.update(CLAIM_PENDING, new MapSqlParameterSource("appliedAt", Timestamp.valueOf(LocalDateTime.now())));
+        });
+        log.info("Rebuilt circulation stats from book_issue");
+    }
+
+    // Markers only matter while an entry could still be redelivered
+    @Scheduled(cron = "${library.stats.prune-cron:0 30 3 * * *}")
+    public void pruneApplied() {
+        jdbcTemplate.update(PRUNE_APPLIED, new MapSqlParameterSource("before",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(appliedRetentionDays))));
+    }
+
+    private record Range(YearMonth first, YearMonth last) {
+
+        // Defaults to the last 12 months, this one included
+        static Range of(YearMonth from, YearMonth to) {
+            YearMonth last = to != null ? to : YearMonth.now();
+            YearMonth first = from != null ? from : last.minusMonths(11);
+            if (first.isAfter(last)) {
+                throw new IllegalStateException("from must not be after to");
+            }
+            if (first.plusMonths(MAX_MONTHS).isBefore(last)) {
+                throw new IllegalStateException("A range covers at most " + MAX_MONTHS + " months");
+            }
+            return new Range(first, last);
+        }
+
+        MapSqlParameterSource params() {
+            return new MapSqlParameterSource()
+                    .addValue("from", Date.valueOf(first.atDay(1)))
+                    .addValue("to", Date.valueOf(last.atDay(1)));
+        }
+    }
+}
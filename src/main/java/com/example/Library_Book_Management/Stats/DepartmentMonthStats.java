@@ -0,0 +1,40 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Borrows and returns by students of one department in one month. Maintained by CirculationStats.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(DepartmentMonthStats.Key.class)
+@Table(name = "stats_department_month")
+public class DepartmentMonthStats {
+
+    @Id
+    @Column(length = 255)
+    private String department;
+
+    @Id
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private long borrows;
+
+    @Column(nullable = false)
+    private long returns;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String department;
+        private LocalDate monthStart;
+    }
+}
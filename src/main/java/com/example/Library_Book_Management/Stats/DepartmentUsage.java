@@ -0,0 +1,4 @@
+package com.example.Library_Book_Management.Stats;
+
+public record DepartmentUsage(String department, long borrows, long returns) {
+}
@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.time.YearMonth;
+
+// One point of a time series; months without activity are included with zeros
+public record MonthlyCount(YearMonth month, long borrows, long returns) {
+}
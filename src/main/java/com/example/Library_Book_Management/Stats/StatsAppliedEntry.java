@@ -0,0 +1,26 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outbox entries already counted, so a redelivered entry is not counted twice. Pruned after a few days.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stats_applied")
+public class StatsAppliedEntry {
+
+    @Id
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private LocalDateTime appliedAt;
+}
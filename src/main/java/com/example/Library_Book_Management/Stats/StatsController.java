@@ -0,0 +1,64 @@
+package com.example.Library_Book_Management.Stats;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// LIBRARIAN: circulation reports from the rollups. Months are yyyy-MM; the range defaults to the last 12 months.
+@RestController
+@RequestMapping(path = "/stats")
+public class StatsController {
+
+    private final CirculationStats circulationStats;
+
+    @Autowired
+    public StatsController(CirculationStats circulationStats) {
+        this.circulationStats = circulationStats;
+    }
+
+    // Most borrowed books: ?from=2025-01&to=2025-12&limit=10
+    @GetMapping("/books/top")
+    public ResponseEntity<?> getTopBooks(@RequestParam(required = false) YearMonth from,
+                                         @RequestParam(required = false) YearMonth to,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(circulationStats.topBooks(from, to, limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/departments")
+    public ResponseEntity<?> getDepartments(@RequestParam(required = false) YearMonth from,
+                                            @RequestParam(required = false) YearMonth to) {
+        try {
+            return ResponseEntity.ok(circulationStats.departments(from, to));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Per-month series for the library, or for one ?bookId= or ?department=
+    @GetMapping("/monthly")
+    public ResponseEntity<?> getMonthly(@RequestParam(required = false) YearMonth from,
+                                        @RequestParam(required = false) YearMonth to,
+                                        @RequestParam(required = false) Long bookId,
+                                        @RequestParam(required = false) String department) {
+        try {
+            List<MonthlyCount> series = circulationStats.monthly(from, to, bookId, department);
+            return ResponseEntity.ok(series);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recompute the rollups from the issue table (first deployment, or after a repair)
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        circulationStats.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
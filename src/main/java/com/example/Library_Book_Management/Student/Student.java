@@ -15,7 +15,10 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "ux_students_email", columnList = "email", unique = true),
+        @Index(name = "ux_students_roll_no", columnList = "rollNo", unique = true)
+})
 public class Student {
 
     @Id
@@ -9,23 +9,24 @@ import org.springframework.security.core.Authentication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.User.User;
+
 @RestController
 @RequestMapping(path = "/student")
 public class StudentController {
 
     private final StudentService studentService;
-    private final StudentRepository studentRepository;
 
     @Autowired
-    public StudentController(StudentService studentService, StudentRepository studentRepository) {
+    public StudentController(StudentService studentService) {
         this.studentService = studentService;
-        this.studentRepository = studentRepository;
     }
 
     @GetMapping("/profile")
     public ResponseEntity<Student> getMyProfile(Authentication authentication) {
-        String email = authentication.getName();
-        Optional<Student> student = studentRepository.findByEmail(email);
+        String email = User.normalizeEmail(authentication.getName());
+        Optional<Student> student = studentService.findByEmail(email);
 
         return student.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(404).body(null));
@@ -36,6 +37,17 @@ public class StudentController {
         return studentService.getAllStudents();
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Student>> getStudentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(studentService.getStudentsPage(cursor, size));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
     public void registerNewStudent(@RequestBody Student student) {
         studentService.addStudent(student);
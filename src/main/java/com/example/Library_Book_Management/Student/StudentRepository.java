@@ -1,12 +1,25 @@
 package com.example.Library_Book_Management.Student;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+// Emails are stored normalized (User.normalizeEmail)
 Optional<Student> findByEmail(String email);
 Optional<Student> findByRollNo(String rollNo);
+
+// Ids for a whole batch of roll numbers (bulk desk operations)
+@Query("select s.id as id, s.rollNo as rollNo from Student s where s.rollNo in :rollNos")
+List<StudentRollNo> findIdsByRollNoIn(@Param("rollNos") Collection<String> rollNos);
+
+// Keyset pagination
+List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
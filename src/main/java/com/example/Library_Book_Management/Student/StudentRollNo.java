@@ -0,0 +1,7 @@
+package com.example.Library_Book_Management.Student;
+
+// Student id by roll number (bulk desk operations resolve a whole batch with one query)
+public interface StudentRollNo {
+    Long getId();
+    String getRollNo();
+}
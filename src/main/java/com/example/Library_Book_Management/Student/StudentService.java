@@ -4,8 +4,17 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.example.Library_Book_Management.Common.CursorPage;
+import com.example.Library_Book_Management.Common.CursorPaging;
+import com.example.Library_Book_Management.Common.ResourceVersions;
+import com.example.Library_Book_Management.Config.CacheConfig;
+import com.example.Library_Book_Management.Config.ReadRouting;
+import com.example.Library_Book_Management.User.User;
 import com.example.Library_Book_Management.User.UserRepo;
 
 import jakarta.transaction.Transactional;
@@ -14,18 +23,46 @@ import jakarta.transaction.Transactional;
 public class StudentService {
   private final StudentRepository studentRepository;
   private final UserRepo userRepo;
+  private final CursorPaging cursorPaging;
+  private final CacheManager cacheManager;
+  private final ResourceVersions resourceVersions;
   @Autowired
-  public StudentService(StudentRepository studentRepository , UserRepo userRepo){
+  public StudentService(StudentRepository studentRepository , UserRepo userRepo, CursorPaging cursorPaging, CacheManager cacheManager, ResourceVersions resourceVersions){
     this.studentRepository= studentRepository;
     this.userRepo = userRepo;
+    this.cursorPaging = cursorPaging;
+    this.cacheManager = cacheManager;
+    this.resourceVersions = resourceVersions;
+  }
+
+  // Cached lookups (profile page, requests by roll number). Misses are not cached, so a student
+  // registered later is found straight away; updateStudent/deleteStudent evict both entries.
+  // Filled from the primary, so an eviction is never followed by a stale replica read.
+  @Cacheable(cacheNames = CacheConfig.STUDENTS_BY_EMAIL,
+          key = "T(com.example.Library_Book_Management.User.User).normalizeEmail(#email)",
+          unless = "#result == null")
+  public Optional<Student> findByEmail(String email){
+    return ReadRouting.onPrimary(() -> studentRepository.findByEmail(User.normalizeEmail(email)));
+  }
+
+  @Cacheable(cacheNames = CacheConfig.STUDENTS_BY_ROLL_NO, unless = "#result == null")
+  public Optional<Student> findByRollNo(String rollNo){
+    return ReadRouting.onPrimary(() -> studentRepository.findByRollNo(rollNo));
   }
   
 public List<Student> getAllStudents(){
     return studentRepository.findAll();
   }
 
+public CursorPage<Student> getStudentsPage(String cursor, Integer size){
+    int pageSize = cursorPaging.size(size);
+    List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(cursorPaging.afterId(cursor), cursorPaging.limit(pageSize));
+    return cursorPaging.page(rows, pageSize, Student::getId);
+  }
+
 
   public Student addStudent(Student student){
+     student.setEmail(User.normalizeEmail(student.getEmail()));
      Optional<Student> existingStudent =studentRepository.findByEmail(student.getEmail());
      if(existingStudent.isPresent()){
         throw new IllegalStateException("Student with email"+student.getEmail()+"already exist");
@@ -39,6 +76,8 @@ public List<Student> getAllStudents(){
       Student student = studentRepository.findById(id).orElseThrow(()-> new IllegalStateException("Student with id " + id + " does not exist"));
       Long userId = student.getUser().getId();
       studentRepository.delete(student);
+      evictCached(student);
+      resourceVersions.historyChanged(id);
       if (userId != null) {
             userRepo.deleteById(userId);
         }
@@ -78,5 +117,20 @@ public void updateStudent(Long studentId, Student updatedDetails) {
     }
 
     studentRepository.save(student);
+    evictCached(student);
+    // Name and department are part of the issue history rows
+    resourceVersions.historyChanged(studentId);
+}
+
+// Inside a transaction the eviction is deferred until it commits (see CacheConfig)
+private void evictCached(Student student) {
+    Cache byEmail = cacheManager.getCache(CacheConfig.STUDENTS_BY_EMAIL);
+    Cache byRollNo = cacheManager.getCache(CacheConfig.STUDENTS_BY_ROLL_NO);
+    if (byEmail != null && student.getEmail() != null) {
+        byEmail.evict(student.getEmail());
+    }
+    if (byRollNo != null && student.getRollNo() != null) {
+        byRollNo.evict(student.getRollNo());
+    }
 }
 }
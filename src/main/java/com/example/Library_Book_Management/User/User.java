@@ -2,6 +2,7 @@ package com.example.Library_Book_Management.User;
 
 import java.util.Collection;
 import java.util.List; // Added missing import
+import java.util.Locale;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,6 +14,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -25,7 +27,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_email", columnList = "email", unique = true)
+})
 public class User implements UserDetails {
 
     @Id
@@ -34,7 +38,7 @@ public class User implements UserDetails {
 
     private String firstname; // Required by your AuthService
     private String lastname;  // Required by your AuthService
-    private String email;     // Required by your AuthService
+    private String email;     // Stored normalized (see normalizeEmail), so lookups are a plain indexed equality
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -42,6 +46,11 @@ public class User implements UserDetails {
 
 
 
+    // Single place that decides how emails are compared: trimmed and lower-cased
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
 
@@ -0,0 +1,7 @@
+-- ETag counters (Common/ResourceVersions), shared by every instance. Rows are created on first
+-- use and bumped in the transaction that changes the catalog or a student's history.
+
+CREATE TABLE IF NOT EXISTS resource_version (
+    name     VARCHAR(16) PRIMARY KEY,
+    version  BIGINT NOT NULL DEFAULT 0
+);
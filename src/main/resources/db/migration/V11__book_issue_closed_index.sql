@@ -0,0 +1,4 @@
+-- Archive run (BookIssue/IssueArchiver): closed issues in id order, resuming after the last chunk.
+-- Only the closed slice of book_issue is indexed; the query names the statuses as literals.
+CREATE INDEX IF NOT EXISTS ix_book_issue_closed ON book_issue (id)
+    WHERE status IN ('RETURNED', 'REJECTED');
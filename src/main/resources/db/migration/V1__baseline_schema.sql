@@ -0,0 +1,56 @@
+-- Baseline: the schema as Hibernate generated it before migrations were introduced.
+-- Everything is IF NOT EXISTS so this is a no-op on databases that already have it.
+
+CREATE SEQUENCE IF NOT EXISTS book_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS books (
+    id           BIGINT NOT NULL PRIMARY KEY,
+    book_name    VARCHAR(255),
+    author       VARCHAR(255),
+    issued_date  DATE,
+    return_date  DATE,
+    is_issued    BOOLEAN,
+    copies       INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    firstname  VARCHAR(255),
+    lastname   VARCHAR(255),
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    role       VARCHAR(255) CHECK (role IN ('STUDENT', 'LIBRARIAN'))
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255),
+    email         VARCHAR(255),
+    department    VARCHAR(255),
+    roll_no       VARCHAR(255),
+    current_year  VARCHAR(255),
+    semester      VARCHAR(255),
+    joined_date   DATE,
+    user_id       BIGINT UNIQUE REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS book_issue (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id    BIGINT NOT NULL REFERENCES students (id),
+    books_id      BIGINT NOT NULL REFERENCES books (id),
+    request_date  DATE,
+    issue_date    DATE,
+    due_date      DATE,
+    return_date   DATE,
+    status        VARCHAR(255) CHECK (status IN ('REQUESTED', 'ISSUED', 'RETURNED', 'REJECTED'))
+);
+
+-- Copies not currently requested or issued (added with the conditional reservation UPDATE)
+ALTER TABLE books ADD COLUMN IF NOT EXISTS available_copies INTEGER;
+
+UPDATE books b
+SET available_copies = COALESCE(b.copies, 1) - (
+    SELECT COUNT(*) FROM book_issue bi
+    WHERE bi.books_id = b.id AND bi.status IN ('REQUESTED', 'ISSUED')
+)
+WHERE b.available_copies IS NULL;
@@ -0,0 +1,10 @@
+-- Emails are compared trimmed and lower-cased (User.normalizeEmail); store them that way so
+-- login and profile lookups are a plain equality on a unique index instead of LOWER(TRIM()) scans.
+-- Fails if two accounts only differ by case/whitespace: merge those first.
+
+UPDATE users SET email = LOWER(TRIM(email)) WHERE email <> LOWER(TRIM(email));
+UPDATE students SET email = LOWER(TRIM(email)) WHERE email <> LOWER(TRIM(email));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_email ON students (email);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_roll_no ON students (roll_no);
@@ -0,0 +1,10 @@
+-- OVERDUE: an ISSUED book past its due date (BookIssue/OverdueScanner).
+
+ALTER TABLE book_issue DROP CONSTRAINT IF EXISTS book_issue_status_check;
+ALTER TABLE book_issue ADD CONSTRAINT book_issue_status_check
+    CHECK (status IN ('REQUESTED', 'ISSUED', 'OVERDUE', 'RETURNED', 'REJECTED'));
+
+-- The overdue scan is a range scan on (status = 'ISSUED', due_date < today); id makes the
+-- chunk order deterministic and also serves the status listings.
+CREATE INDEX IF NOT EXISTS ix_book_issue_status_due_date ON book_issue (status, due_date, id);
+
@@ -0,0 +1,24 @@
+-- Overdue fines (Fine/FineService): an append-only ledger and a running balance per student.
+
+-- How far an issue has been charged; the accrual run only adds the days after it
+ALTER TABLE book_issue ADD COLUMN IF NOT EXISTS fine_accrued_through DATE;
+
+-- issue_id has no foreign key on purpose: ledger lines must outlive archived issues
+CREATE TABLE IF NOT EXISTS fine_ledger (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id  BIGINT NOT NULL,
+    issue_id    BIGINT,
+    type        VARCHAR(20) NOT NULL CHECK (type IN ('ACCRUAL', 'RETURN', 'PAYMENT')),
+    amount      NUMERIC(10, 2) NOT NULL,
+    period_end  DATE,
+    created_at  TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_fine_ledger_student ON fine_ledger (student_id, id);
+-- One charge per issue per period, so a repeated run cannot bill the same days twice
+CREATE UNIQUE INDEX IF NOT EXISTS ux_fine_ledger_issue_period ON fine_ledger (issue_id, period_end);
+
+CREATE TABLE IF NOT EXISTS student_balance (
+    student_id   BIGINT PRIMARY KEY,
+    outstanding  NUMERIC(10, 2) NOT NULL DEFAULT 0
+);
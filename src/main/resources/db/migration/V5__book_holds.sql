@@ -0,0 +1,15 @@
+-- FIFO hold queue for fully booked titles (Hold/HoldService). Queue order is id order.
+
+CREATE TABLE IF NOT EXISTS book_hold (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id  BIGINT NOT NULL REFERENCES students (id),
+    books_id    BIGINT NOT NULL REFERENCES books (id),
+    status      VARCHAR(20) NOT NULL CHECK (status IN ('WAITING', 'PROMOTED', 'CANCELLED')),
+    created_at  TIMESTAMP NOT NULL,
+    closed_at   TIMESTAMP,
+    issue_id    BIGINT
+);
+
+-- Head of a book's queue: WHERE books_id = ? AND status = 'WAITING' ORDER BY id LIMIT 1
+CREATE INDEX IF NOT EXISTS ix_book_hold_book_status ON book_hold (books_id, status, id);
+CREATE INDEX IF NOT EXISTS ix_book_hold_student_status ON book_hold (student_id, status);
@@ -0,0 +1,12 @@
+-- Transactional outbox for circulation changes (Outbox/OutboxWriter, Outbox/OutboxRelay).
+-- Rows are written in the transaction that changes the issue and deleted once delivered,
+-- so the table only holds the undelivered tail. No foreign keys: entries outlive their issues.
+
+CREATE TABLE IF NOT EXISTS circulation_outbox (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    book_id     BIGINT,
+    issue_id    BIGINT,
+    event_type  VARCHAR(20) NOT NULL CHECK (event_type IN ('CREATED', 'APPROVED', 'REJECTED', 'RETURNED')),
+    payload     TEXT NOT NULL,
+    created_at  TIMESTAMP NOT NULL
+);
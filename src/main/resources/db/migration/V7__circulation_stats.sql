@@ -0,0 +1,27 @@
+-- Monthly circulation rollups for /stats (Stats/CirculationStats), fed from the outbox relay.
+-- month_start is the first day of the month.
+
+CREATE TABLE IF NOT EXISTS stats_book_month (
+    book_id      BIGINT NOT NULL,
+    month_start  DATE NOT NULL,
+    borrows      BIGINT NOT NULL,
+    returns      BIGINT NOT NULL,
+    PRIMARY KEY (book_id, month_start)
+);
+
+-- Top-N over a range of months
+CREATE INDEX IF NOT EXISTS ix_stats_book_month_month ON stats_book_month (month_start, book_id);
+
+CREATE TABLE IF NOT EXISTS stats_department_month (
+    department   VARCHAR(255) NOT NULL,
+    month_start  DATE NOT NULL,
+    borrows      BIGINT NOT NULL,
+    returns      BIGINT NOT NULL,
+    PRIMARY KEY (department, month_start)
+);
+
+-- Outbox entries already counted, so a redelivery is not counted twice
+CREATE TABLE IF NOT EXISTS stats_applied (
+    outbox_id   BIGINT PRIMARY KEY,
+    applied_at  TIMESTAMP NOT NULL
+);
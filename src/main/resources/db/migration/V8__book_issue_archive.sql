@@ -0,0 +1,18 @@
+-- Closed issues older than library.archive.after-days move here (BookIssue/IssueArchiver), so
+-- book_issue only holds open and recently closed issues. Rows keep their book_issue id.
+
+CREATE TABLE IF NOT EXISTS book_issue_archive (
+    id                    BIGINT PRIMARY KEY,
+    student_id            BIGINT NOT NULL REFERENCES students (id),
+    books_id              BIGINT NOT NULL REFERENCES books (id),
+    request_date          DATE,
+    issue_date            DATE,
+    due_date              DATE,
+    return_date           DATE,
+    status                VARCHAR(255) NOT NULL CHECK (status IN ('RETURNED', 'REJECTED')),
+    fine_accrued_through  DATE,
+    archived_at           TIMESTAMP NOT NULL
+);
+
+-- Student history: WHERE student_id = ? ORDER BY id
+CREATE INDEX IF NOT EXISTS ix_book_issue_archive_student ON book_issue_archive (student_id, id);
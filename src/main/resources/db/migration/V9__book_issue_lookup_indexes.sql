@@ -0,0 +1,10 @@
+-- "Is this book busy?" (BooksService.deleteBooks) only ever asks about the active
+-- statuses, which are a small slice of book_issue, so the index holds just those rows.
+-- Queries must name the statuses as literals for the planner to match the predicate.
+CREATE INDEX IF NOT EXISTS ix_book_issue_active_book ON book_issue (books_id)
+    WHERE status IN ('REQUESTED', 'ISSUED', 'OVERDUE');
+
+-- Student history: WHERE student_id = ?, by request date
+CREATE INDEX IF NOT EXISTS ix_book_issue_student_request_date ON book_issue (student_id, request_date);
+
+-- (status, due_date) is already covered by ix_book_issue_status_due_date (V3).
@@ -0,0 +1,92 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+
+@SpringBootTest
+class BookAvailabilityTrackerTests {
+
+	@Autowired
+	private BookAvailabilityTracker tracker;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void acquireStopsAtTheNumberOfCopies() {
+		Long bookId = newBook();
+
+		assertThat(tracker.tryAcquire(bookId, 2)).isTrue();
+		assertThat(tracker.tryAcquire(bookId, 2)).isTrue();
+		assertThat(tracker.tryAcquire(bookId, 2)).isFalse();
+		assertThat(tracker.inUse(bookId)).isEqualTo(2);
+
+		tracker.release(bookId);
+		tracker.release(bookId);
+		tracker.release(bookId);
+		assertThat(tracker.inUse(bookId)).isZero();
+	}
+
+	@Test
+	void acquiredCopyIsGivenBackWhenTheTransactionRollsBack() {
+		Long bookId = newBook();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(tracker.tryAcquire(bookId, 1)).isTrue();
+			tracker.releaseOnRollback(bookId);
+			status.setRollbackOnly();
+		});
+		assertThat(tracker.inUse(bookId)).isZero();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			tracker.tryAcquire(bookId, 1);
+			tracker.releaseOnRollback(bookId);
+		});
+		assertThat(tracker.inUse(bookId)).isEqualTo(1);
+	}
+
+	@Test
+	void releasedCopyIsOnlyFreeOnceTheTransactionCommits() {
+		Long bookId = newBook();
+		tracker.tryAcquire(bookId, 1);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			tracker.releaseAfterCommit(bookId);
+			status.setRollbackOnly();
+		});
+		assertThat(tracker.inUse(bookId)).isEqualTo(1);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			tracker.releaseAfterCommit(bookId);
+			// Not before commit: a concurrent request must still see the copy as taken
+			assertThat(tracker.inUse(bookId)).isEqualTo(1);
+		});
+		assertThat(tracker.inUse(bookId)).isZero();
+	}
+
+	@Test
+	void driftIsCorrectedOnlyWhenTwoRunsAgree() {
+		// No issues in the database for this book, so the counter has drifted by one
+		Long bookId = newBook();
+		tracker.tryAcquire(bookId, 1);
+
+		tracker.reconcile();
+		assertThat(tracker.inUse(bookId)).isEqualTo(1);
+		tracker.reconcile();
+		assertThat(tracker.inUse(bookId)).isZero();
+	}
+
+	private Long newBook() {
+		return booksRepository.save(new Books("Tracker Book", "Author", 1)).getId();
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Library_Book_Management.BookIssue.BulkIssueRequest.Item;
+import com.example.Library_Book_Management.BookIssue.BulkResult.ItemResult;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookIssueBulkServiceTests {
+
+	@Autowired
+	private BookIssueBulkService bookIssueBulkService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private BookAvailabilityTracker availabilityTracker;
+
+	@BeforeAll
+	void seed() {
+		for (int i = 0; i < 40; i++) {
+			studentRepository.save(Student.builder()
+					.name("Bulk Student " + i)
+					.email("bulk" + i + "@test.local")
+					.rollNo("BULK-" + i)
+					.department("CSE")
+					.build());
+		}
+	}
+
+	@Test
+	void issuesAClassSetAndReportsEachItem() {
+		Books classSet = booksRepository.save(new Books("Bulk Class Set", "Author", 38));
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			items.add(new Item("BULK-" + i, classSet.getId()));
+		}
+		items.add(new Item("NO-SUCH-STUDENT", classSet.getId()));
+		items.add(new Item("BULK-0", -1L));
+
+		BulkResult result = bookIssueBulkService.issueBooks(items);
+
+		assertThat(result.getSucceeded()).isEqualTo(38);
+		assertThat(result.getFailed()).isEqualTo(4);
+		assertThat(result.getResults()).hasSize(42);
+		assertThat(result.getResults().subList(0, 38)).allSatisfy(item -> {
+			assertThat(item.isSuccess()).isTrue();
+			assertThat(item.getIssueId()).isNotNull();
+		});
+		assertThat(result.getResults().subList(38, 40)).extracting(ItemResult::getError)
+				.containsOnly("All copies are currently busy.");
+		assertThat(result.getResults().get(40).getError()).contains("not found");
+		assertThat(result.getResults().get(41).getError()).isEqualTo("Book not found");
+
+		assertThat(booksRepository.findById(classSet.getId()).orElseThrow().getAvailableCopies()).isZero();
+		assertThat(availabilityTracker.inUse(classSet.getId())).isEqualTo(38);
+		assertThat(bookIssueRepository.findById(result.getResults().get(0).getIssueId()).orElseThrow().getStatus())
+				.isEqualTo(IssueStatus.ISSUED);
+	}
+
+	@Test
+	void returnsABatchAndGivesTheCopiesBack() {
+		Books classSet = booksRepository.save(new Books("Bulk Return Set", "Author", 5));
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			items.add(new Item("BULK-" + i, classSet.getId()));
+		}
+		List<Long> issueIds = new ArrayList<>(bookIssueBulkService.issueBooks(items).getResults().stream()
+				.map(ItemResult::getIssueId)
+				.toList());
+		issueIds.add(issueIds.get(0));
+		issueIds.add(Long.MAX_VALUE);
+
+		BulkResult result = bookIssueBulkService.returnBooks(issueIds);
+
+		assertThat(result.getSucceeded()).isEqualTo(5);
+		assertThat(result.getResults().get(5).getError()).isEqualTo("Issue listed more than once");
+		assertThat(result.getResults().get(6).getError()).isEqualTo("Issue record not found");
+		assertThat(booksRepository.findById(classSet.getId()).orElseThrow().getAvailableCopies()).isEqualTo(5);
+		assertThat(availabilityTracker.inUse(classSet.getId())).isZero();
+
+		BulkResult again = bookIssueBulkService.returnBooks(issueIds.subList(0, 1));
+		assertThat(again.getResults().get(0).getError()).isEqualTo("Issue is already RETURNED");
+	}
+
+	@Test
+	void rejectsOversizedBatches() {
+		List<Long> ids = new ArrayList<>();
+		for (long i = 0; i < 201; i++) {
+			ids.add(i);
+		}
+		assertThatThrownBy(() -> bookIssueBulkService.returnBooks(ids))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "LIBRARIAN")
+class BookIssueExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private BookIssueExportService exportService;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void ndjsonHasOneObjectPerLine() throws Exception {
+		Long bookId = issueTo("EXPORT-1", "Export, \"Student\"", "Export Book");
+
+		String body = mockMvc.perform(get("/issue/export").param("format", "ndjson"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(body).endsWith("\n");
+		JsonNode row = null;
+		for (String line : body.split("\n")) {
+			JsonNode node = objectMapper.readTree(line);
+			if (node.get("bookId").asLong() == bookId) {
+				row = node;
+			}
+		}
+		assertThat(row).isNotNull();
+		assertThat(row.get("studentName").asText()).isEqualTo("Export, \"Student\"");
+		assertThat(row.get("status").asText()).isEqualTo("ISSUED");
+		assertThat(row.get("returnDate").isNull()).isTrue();
+	}
+
+	@Test
+	void csvQuotesCellsThatNeedIt() throws Exception {
+		issueTo("EXPORT-2", "Export, \"Student\" 2", "Export Book 2");
+
+		String body = mockMvc.perform(get("/issue/export").param("format", "csv"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("text/csv;charset=UTF-8"))
+				.andReturn().getResponse().getContentAsString();
+
+		List<String> lines = Arrays.asList(body.split("\n"));
+		assertThat(lines.get(0)).isEqualTo("id,status,requestDate,issueDate,dueDate,returnDate,"
+				+ "studentId,studentName,rollNo,studentEmail,bookId,bookName,author");
+		assertThat(lines).anySatisfy(line -> assertThat(line)
+				.contains(",ISSUED,")
+				.contains(",\"Export, \"\"Student\"\" 2\",EXPORT-2,export-2@test.local,")
+				.endsWith(",Export Book 2,Author"));
+	}
+
+	@Test
+	void rowsAreFlushedInBatchesNotOneByOne() throws Exception {
+		issueTo("EXPORT-3", "Export Student 3", "Export Book 3");
+		issueTo("EXPORT-4", "Export Student 4", "Export Book 4");
+
+		for (BookIssueExportService.Format format : BookIssueExportService.Format.values()) {
+			FlushCountingStream out = new FlushCountingStream();
+			exportService.export(format, BookIssueExportService.DateField.REQUEST, null, null, out);
+
+			long rows = out.toString(StandardCharsets.UTF_8).lines().count();
+			assertThat(rows).isGreaterThan(2);
+			assertThat(out.flushes).isLessThanOrEqualTo((int) (1 + rows / 500));
+		}
+	}
+
+	private Long issueTo(String rollNo, String name, String bookName) {
+		studentRepository.save(Student.builder().name(name).email(rollNo.toLowerCase() + "@test.local").rollNo(rollNo).build());
+		Books book = booksRepository.save(new Books(bookName, "Author", 1));
+		bookIssueService.issueBookDirectlyByRollNo(rollNo, book.getId());
+		return book.getId();
+	}
+
+	private static class FlushCountingStream extends ByteArrayOutputStream {
+		private int flushes;
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+	}
+}
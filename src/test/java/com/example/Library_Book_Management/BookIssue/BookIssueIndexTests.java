@@ -0,0 +1,178 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Runs the real migrations on PostgreSQL with 1M issues and checks the book_issue lookups never
+// fall back to a sequential scan (skipped without Docker). The plans are for the SQL Hibernate
+// generates for the repository methods, captured through the StatementInspector.
+@SpringBootTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=none"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookIssueIndexTests {
+
+	private static final String INSPECTOR = "hibernate.session_factory.statement_inspector";
+	private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private IssueRecordRepository issueRecordRepository;
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.execute("""
+				INSERT INTO books (id, book_name, author, copies, available_copies)
+				SELECT g, 'Book ' || g, 'Author', 1000, 1000
+				FROM generate_series(1, 1000) g
+				""");
+		jdbcTemplate.execute("""
+				INSERT INTO students (name, email, roll_no, department)
+				SELECT 'Student ' || g, 'student' || g || '@test.local', 'R' || g, 'CSE'
+				FROM generate_series(1, 10000) g
+				""");
+		// Mostly closed history, as in a library that has been running for a while: 15% active
+		jdbcTemplate.execute("""
+				INSERT INTO book_issue (student_id, books_id, request_date, issue_date, due_date, return_date, status)
+				SELECT 1 + g % 10000, 1 + g % 1000,
+					DATE '2020-01-01' + g % 2000, DATE '2020-01-01' + g % 2000, DATE '2020-01-15' + g % 2000,
+					CASE WHEN g % 20 > 3 THEN DATE '2020-01-10' + g % 2000 END,
+					CASE g % 20 WHEN 0 THEN 'REQUESTED' WHEN 1 THEN 'ISSUED' WHEN 2 THEN 'OVERDUE'
+						WHEN 3 THEN 'REJECTED' ELSE 'RETURNED' END
+				FROM generate_series(1, 1000000) g
+				""");
+		jdbcTemplate.execute("ANALYZE book_issue");
+	}
+
+	@Test
+	void busyBookCheckUsesThePartialIndex() {
+		assertThat(bookIssueRepository.existsActiveByBookId(42L)).isTrue();
+		// Generic plan, as the driver uses once a statement is server-prepared: the book id is unknown,
+		// but the literal statuses still imply the index predicate
+		assertThat(genericPlan(lastStatement(), "42"))
+				.contains("ix_book_issue_active_book")
+				.doesNotContain("Seq Scan");
+	}
+
+	@Test
+	void studentHistoryUsesIndex() {
+		issueRecordRepository.findViewsByStudentId(4242L);
+		// The archive is empty here, so only the book_issue side of the union is held to an index
+		assertThat(genericPlan(lastStatement(), "4242"))
+				.contains("ix_book_issue_student_request_date")
+				.doesNotContainPattern("Seq Scan on book_issue\\b");
+	}
+
+	@Test
+	void overdueScanUsesIndex() {
+		bookIssueRepository.findIdsDueBefore(IssueStatus.ISSUED, LocalDate.of(2021, 1, 1), Limit.of(500));
+		assertThat(genericPlan(lastStatement(), "'ISSUED'", "DATE '2021-01-01'", "500"))
+				.contains("ix_book_issue_status_due_date")
+				.doesNotContain("Seq Scan");
+	}
+
+	@Test
+	void archiveChunksUseTheClosedIndex() {
+		// IssueArchiver's own statement, with its named parameters as the driver would bind them
+		String query = IssueArchiver.CLOSED_BEFORE.replace(":cutoff", "?").replace(":afterId", "?") + " LIMIT 1000";
+		assertThat(genericPlan(query, "DATE '2024-01-01'", "500000"))
+				.contains("ix_book_issue_closed")
+				.doesNotContain("Seq Scan");
+	}
+
+	// The last statement Hibernate prepared on this thread
+	private String lastStatement() {
+		String sql = LAST_STATEMENT.get();
+		assertThat(sql).isNotNull();
+		LAST_STATEMENT.remove();
+		return sql;
+	}
+
+	// EXPLAIN of a JDBC statement (? placeholders) as a server-prepared generic plan; Postgres infers the parameter types
+	private String genericPlan(String sql, String... args) {
+		StringBuilder query = new StringBuilder();
+		int parameters = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				query.append('$').append(++parameters);
+			} else {
+				query.append(c);
+			}
+		}
+		assertThat(parameters).as(sql).isEqualTo(args.length);
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET plan_cache_mode = force_generic_plan");
+				statement.execute("PREPARE q AS " + query);
+				List<String> plan = new ArrayList<>();
+				try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE q (" + String.join(", ", args) + ")")) {
+					while (rows.next()) {
+						plan.add(rows.getString(1));
+					}
+				}
+				statement.execute("DEALLOCATE q");
+				statement.execute("RESET plan_cache_mode");
+				return String.join("\n", plan);
+			}
+		});
+	}
+
+	// Wraps the application's StatementInspector to remember what Hibernate actually sends
+	@TestConfiguration
+	static class CaptureStatements {
+
+		@Bean
+		static BeanPostProcessor captureStatements() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+						Map<String, Object> properties = factory.getJpaPropertyMap();
+						Object inner = properties.get(INSPECTOR);
+						properties.put(INSPECTOR, (StatementInspector) sql -> {
+							LAST_STATEMENT.set(sql);
+							return inner instanceof StatementInspector inspector ? inspector.inspect(sql) : sql;
+						});
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
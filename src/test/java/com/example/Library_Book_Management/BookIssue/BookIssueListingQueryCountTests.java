@@ -0,0 +1,96 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookIssueListingQueryCountTests {
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Student student;
+
+	@BeforeAll
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		student = studentRepository.save(Student.builder()
+				.name("Listing Student")
+				.email("listing@test.local")
+				.rollNo("LIST-1")
+				.department("CSE")
+				.build());
+		for (int i = 0; i < 10; i++) {
+			Books book = booksRepository.save(new Books("Listing Book " + i, "Author " + i, 3));
+			bookIssueService.requestBook("LIST-1", book.getId());
+		}
+	}
+
+	@Test
+	void pendingRequestsCostOneStatement() {
+		List<BookIssueView> pending = countStatements(1, bookIssueService::getPendingRequests);
+		assertThat(pending)
+				.filteredOn(view -> "LIST-1".equals(view.getStudent().getRollNo()))
+				.hasSize(10)
+				.allSatisfy(view -> assertThat(view.getBook().getBookName()).startsWith("Listing Book"));
+	}
+
+	@Test
+	void activeIssuesCostOneStatement() {
+		countStatements(1, bookIssueService::getActiveIssues);
+	}
+
+	@Test
+	void allTransactionsCostOneStatement() {
+		countStatements(1, bookIssueService::getAllIssuedBooks);
+	}
+
+	@Test
+	void studentHistoryCostsOneStatement() {
+		assertThat(countStatements(1, () -> bookIssueService.getStudentHistory(student.getId()))).hasSize(10);
+		assertThat(countStatements(1, () -> bookIssueService.getStudentHistoryByRollNo("LIST-1"))).hasSize(10);
+	}
+
+	@Test
+	void pagesCostOneStatement() {
+		var page = countStatements(1, () -> bookIssueService.getIssuesByStatusPage(IssueStatus.REQUESTED, null, 4));
+		assertThat(page.getItems()).hasSize(4);
+		assertThat(page.getNextCursor()).isNotNull();
+		countStatements(1, () -> bookIssueService.getAllIssuedBooksPage(page.getNextCursor(), 4));
+	}
+
+	private <T> T countStatements(long expected, Supplier<T> listing) {
+		statistics.clear();
+		T result = listing.get();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+		return result;
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest
+class BookReservationConcurrencyTests {
+
+	private static final int COPIES = 5;
+	private static final int REQUESTS = 2000;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void parallelRequestsNeverOversellABook() throws Exception {
+		Books book = booksRepository.save(new Books("Stress Test Book", "Load Author", COPIES));
+		List<String> rollNos = createStudents("STRESS", 50);
+
+		AtomicInteger granted = new AtomicInteger();
+		runInParallel(REQUESTS, i -> {
+			try {
+				bookIssueService.requestBook(rollNos.get(i % rollNos.size()), book.getId());
+				granted.incrementAndGet();
+			} catch (IllegalStateException busy) {
+				// expected once every copy is taken
+			}
+		});
+
+		assertThat(granted.get()).isEqualTo(COPIES);
+		assertThat(bookIssueRepository.findAll()).filteredOn(issue -> issue.getBook().getId().equals(book.getId()))
+				.filteredOn(issue -> issue.getStatus().isActive())
+				.hasSize(COPIES);
+		assertThat(bookIssueRepository.existsActiveByBookId(book.getId())).isTrue();
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+	}
+
+	@Test
+	void conditionalUpdateAloneNeverGoesBelowZero() throws Exception {
+		Books book = booksRepository.save(new Books("Stress Test Book 2", "Load Author", COPIES));
+
+		AtomicInteger reserved = new AtomicInteger();
+		runInParallel(REQUESTS, i -> {
+			Integer rows = transactionTemplate.execute(status -> booksRepository.reserveCopy(book.getId()));
+			reserved.addAndGet(rows);
+		});
+
+		assertThat(reserved.get()).isEqualTo(COPIES);
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+		// Copies taken without any issue rows: nothing active to block a delete
+		assertThat(bookIssueRepository.existsActiveByBookId(book.getId())).isFalse();
+	}
+
+	@Test
+	void returnedCopyCanBeRequestedAgain() {
+		Books book = booksRepository.save(new Books("Single Copy Book", "Load Author", 1));
+		List<String> rollNos = createStudents("SINGLE", 2);
+
+		bookIssueService.requestBook(rollNos.get(0), book.getId());
+		BookIssue issue = bookIssueRepository.findAllByStudentId(
+				studentRepository.findByRollNo(rollNos.get(0)).orElseThrow().getId()).get(0);
+		bookIssueService.approveIssue(issue.getId());
+		bookIssueService.returnBook(issue.getId());
+
+		bookIssueService.requestBook(rollNos.get(1), book.getId());
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+	}
+
+	@Test
+	void concurrentRejectsFreeTheCopyOnce() throws Exception {
+		Books book = booksRepository.save(new Books("Reject Race Book", "Load Author", 1));
+		List<String> rollNos = createStudents("REJECT", 1);
+		Long issueId = bookIssueService.requestBook(rollNos.get(0), book.getId()).getId();
+
+		AtomicInteger rejected = new AtomicInteger();
+		runInParallel(8, i -> {
+			try {
+				bookIssueService.rejectRequest(issueId);
+				rejected.incrementAndGet();
+			} catch (IllegalStateException alreadyRejected) {
+				// the others see REJECTED under the row lock
+			}
+		});
+
+		assertThat(rejected.get()).isEqualTo(1);
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isEqualTo(1);
+	}
+
+	@Test
+	void issuedBooksCannotBeRejected() {
+		Books book = booksRepository.save(new Books("Reject Issued Book", "Load Author", 1));
+		List<String> rollNos = createStudents("REJECT-ISSUED", 1);
+		Long issueId = bookIssueService.requestBook(rollNos.get(0), book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+
+		assertThatThrownBy(() -> bookIssueService.rejectRequest(issueId))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(bookIssueRepository.findById(issueId).orElseThrow().getStatus()).isEqualTo(IssueStatus.ISSUED);
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+	}
+
+	private List<String> createStudents(String prefix, int count) {
+		List<String> rollNos = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String rollNo = prefix + "-" + i;
+			studentRepository.save(Student.builder()
+					.name("Student " + i)
+					.email(prefix.toLowerCase() + i + "@test.local")
+					.rollNo(rollNo)
+					.build());
+			rollNos.add(rollNo);
+		}
+		return rollNos;
+	}
+
+	private void runInParallel(int tasks, IntTask task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < tasks; i++) {
+				int index = i;
+				futures.add(pool.submit(() -> {
+					start.await();
+					task.run(index);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface IntTask {
+		void run(int index) throws Exception;
+	}
+}
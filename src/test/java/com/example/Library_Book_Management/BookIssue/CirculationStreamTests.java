@@ -0,0 +1,106 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CirculationStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	@WithMockUser(authorities = "LIBRARIAN")
+	void committedTransitionsArePushedToSubscribers() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/issue/events")).andExpect(request().asyncStarted()).andReturn();
+
+		studentRepository.save(Student.builder().name("Stream Student").email("stream@test.local").rollNo("STREAM-1").build());
+		Books book = booksRepository.save(new Books("Stream Book", "Author", 1));
+		Long issueId = bookIssueService.requestBook("STREAM-1", book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+
+		String body = awaitContent(stream, "event:approved");
+		assertThat(body).contains("event:created", "\"issueId\":" + issueId, "\"bookName\":\"Stream Book\"");
+		assertThat(body.indexOf("event:created")).isLessThan(body.indexOf("event:approved"));
+	}
+
+	@Test
+	@WithMockUser(authorities = "LIBRARIAN")
+	void aClosedIssueIsNotReturnedOrPublishedAgain() throws Exception {
+		studentRepository.save(Student.builder().name("Stream Student 2").email("stream2@test.local").rollNo("STREAM-2").build());
+		Books book = booksRepository.save(new Books("Stream Return Book", "Author", 1));
+		Long issueId = bookIssueService.requestBook("STREAM-2", book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+		bookIssueService.returnBook(issueId);
+
+		MvcResult stream = mockMvc.perform(get("/issue/events")).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(put("/issue/return/" + issueId))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("Issue is already RETURNED"));
+
+		// The next transition is the first thing the new subscriber sees
+		Long nextId = bookIssueService.requestBook("STREAM-2", book.getId()).getId();
+		String body = awaitContent(stream, "\"issueId\":" + nextId);
+		assertThat(body).contains("event:created").doesNotContain("event:returned");
+	}
+
+	@Test
+	@WithMockUser(authorities = "STUDENT")
+	void studentsCannotSubscribe() throws Exception {
+		mockMvc.perform(get("/issue/events")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void slowSubscribersAreEvictedWhenTheirBufferIsFull() {
+		// A sender that never runs: nothing is drained, as with a stalled client
+		CirculationStream stream = new CirculationStream(new ObjectMapper().findAndRegisterModules(),
+				new SimpleMeterRegistry(), 2, 10, 60_000, task -> { });
+		stream.subscribe();
+		assertThat(stream.subscriberCount()).isEqualTo(1);
+
+		for (long id = 1; id <= 3; id++) {
+			stream.onCirculationEvent(CirculationEvent.of(CirculationEventType.RETURNED, id, 1L, IssueStatus.RETURNED));
+		}
+		assertThat(stream.subscriberCount()).isZero();
+	}
+
+	private String awaitContent(MvcResult result, String marker) throws Exception {
+		long deadline = System.currentTimeMillis() + 5_000;
+		String body = result.getResponse().getContentAsString();
+		while (!body.contains(marker) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			body = result.getResponse().getContentAsString();
+		}
+		return body;
+	}
+}
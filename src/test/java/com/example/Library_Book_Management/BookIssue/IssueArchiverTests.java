@@ -0,0 +1,86 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest(properties = "library.archive.chunk-size=2")
+class IssueArchiverTests {
+
+	@Autowired
+	private IssueArchiver issueArchiver;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void oldClosedIssuesMoveToTheArchiveAndStayInTheHistory() {
+		Student student = studentRepository.save(Student.builder()
+				.name("Archive Student")
+				.email("archive@test.local")
+				.rollNo("ARCHIVE-1")
+				.build());
+		Books book = booksRepository.save(new Books("Archive Book", "Author", 10));
+		LocalDate today = LocalDate.now();
+
+		Long oldReturned = issue(student, book, IssueStatus.RETURNED, today.minusDays(200), today.minusDays(180));
+		Long oldReturned2 = issue(student, book, IssueStatus.RETURNED, today.minusDays(150), today.minusDays(120));
+		Long oldRejected = issue(student, book, IssueStatus.REJECTED, today.minusDays(100), null);
+		Long recentReturned = issue(student, book, IssueStatus.RETURNED, today.minusDays(20), today.minusDays(5));
+		Long oldIssued = issue(student, book, IssueStatus.ISSUED, today.minusDays(300), null);
+
+		assertThat(issueArchiver.archiveClosedBefore(today.minusDays(90))).isEqualTo(3);
+		assertThat(issueArchiver.archiveClosedBefore(today.minusDays(90))).isZero();
+
+		assertThat(bookIssueRepository.findAllById(List.of(oldReturned, oldReturned2, oldRejected))).isEmpty();
+		assertThat(bookIssueRepository.findAllById(List.of(recentReturned, oldIssued))).hasSize(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_issue_archive WHERE student_id = ?",
+				Long.class, student.getId())).isEqualTo(3);
+
+		// The history reads both tables, in id order, with nothing lost or repeated
+		assertThat(bookIssueService.getStudentHistoryByRollNo("ARCHIVE-1")).extracting(BookIssueView::getId)
+				.containsExactly(oldReturned, oldReturned2, oldRejected, recentReturned, oldIssued);
+		assertThat(bookIssueService.getStudentHistory(student.getId())).extracting(BookIssueView::getStatus)
+				.containsExactly(IssueStatus.RETURNED, IssueStatus.RETURNED, IssueStatus.REJECTED, IssueStatus.RETURNED, IssueStatus.ISSUED);
+		assertThat(bookIssueService.getIssuesByStatusPage(IssueStatus.REJECTED, null, 50).getItems())
+				.extracting(BookIssueView::getId).contains(oldRejected);
+		assertThat(bookIssueService.getAllIssuedBooks()).extracting(BookIssueView::getId).contains(oldReturned, oldIssued);
+	}
+
+	private Long issue(Student student, Books book, IssueStatus status, LocalDate requestDate, LocalDate returnDate) {
+		BookIssue issue = new BookIssue();
+		issue.setStudent(student);
+		issue.setBook(book);
+		issue.setStatus(status);
+		issue.setRequestDate(requestDate);
+		if (status != IssueStatus.REJECTED) {
+			issue.setIssueDate(requestDate);
+			issue.setDueDate(requestDate.plusDays(14));
+		}
+		issue.setReturnDate(returnDate);
+		return bookIssueRepository.save(issue).getId();
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.Library_Book_Management.BookIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest(properties = "library.overdue.chunk-size=2")
+class OverdueScannerTests {
+
+	@Autowired
+	private OverdueScanner overdueScanner;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void movesPastDueIssuesToOverdueInChunks() {
+		Student student = studentRepository.save(Student.builder()
+				.name("Overdue Student")
+				.email("overdue@test.local")
+				.rollNo("OVERDUE-1")
+				.build());
+		Books book = booksRepository.save(new Books("Overdue Book", "Author", 10));
+		LocalDate today = LocalDate.now();
+
+		List<Long> pastDue = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			pastDue.add(issue(student, book, today.minusDays(i + 1), IssueStatus.ISSUED));
+		}
+		Long dueToday = issue(student, book, today, IssueStatus.ISSUED);
+		Long requested = issue(student, book, today.minusDays(3), IssueStatus.REQUESTED);
+
+		assertThat(overdueScanner.markOverdue(today)).isGreaterThanOrEqualTo(5);
+
+		assertThat(bookIssueRepository.findAllById(pastDue)).extracting(BookIssue::getStatus)
+				.containsOnly(IssueStatus.OVERDUE);
+		assertThat(bookIssueRepository.findById(dueToday).orElseThrow().getStatus()).isEqualTo(IssueStatus.ISSUED);
+		assertThat(bookIssueRepository.findById(requested).orElseThrow().getStatus()).isEqualTo(IssueStatus.REQUESTED);
+
+		// Nothing new became overdue, so the next run has nothing to do
+		assertThat(overdueScanner.markOverdue(today)).isZero();
+
+		assertThat(bookIssueService.getOverdueIssues()).extracting(BookIssueView::getId).containsAll(pastDue);
+		assertThat(bookIssueService.getActiveIssues()).extracting(BookIssueView::getId).contains(pastDue.get(0), dueToday);
+	}
+
+	@Test
+	void returningAnOverdueBookFreesTheCopy() {
+		Student student = studentRepository.save(Student.builder()
+				.name("Late Returner")
+				.email("late-returner@test.local")
+				.rollNo("OVERDUE-2")
+				.build());
+		Books book = booksRepository.save(new Books("Overdue Return Book", "Author", 1));
+		bookIssueService.issueBookDirectlyByRollNo("OVERDUE-2", book.getId());
+		BookIssue issue = bookIssueRepository.findAllByStudentId(student.getId()).get(0);
+		issue.setDueDate(LocalDate.now().minusDays(1));
+		bookIssueRepository.save(issue);
+
+		overdueScanner.markOverdue(LocalDate.now());
+		bookIssueService.returnBook(issue.getId());
+
+		assertThat(bookIssueRepository.findById(issue.getId()).orElseThrow().getStatus()).isEqualTo(IssueStatus.RETURNED);
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isEqualTo(1);
+	}
+
+	private Long issue(Student student, Books book, LocalDate dueDate, IssueStatus status) {
+		BookIssue issue = new BookIssue();
+		issue.setStudent(student);
+		issue.setBook(book);
+		issue.setStatus(status);
+		issue.setIssueDate(dueDate.minusDays(14));
+		issue.setDueDate(dueDate);
+		return bookIssueRepository.save(issue).getId();
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.Library_Book_Management.Books;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+// The index on its own, fed directly instead of from the database
+class BookSearchIndexTests {
+
+	private final BookSearchIndex index = new BookSearchIndex(null, 3);
+
+	@Test
+	void everyQueryWordMustStartAWord() {
+		index.index(1L, "Harry Potter and the Goblet of Fire", "J. K. Rowling");
+		index.index(2L, "Harry Hole", "Jo Nesbo");
+		index.index(3L, "Pottery for Beginners", "Harriet Smith");
+
+		assertThat(index.search("har pot")).containsExactly(1L, 3L);
+		assertThat(index.search("  HARRY   potter! ")).containsExactly(1L);
+		assertThat(index.search("arry")).isEmpty();
+		assertThat(index.search("")).isEmpty();
+
+		index.remove(1L);
+		assertThat(index.search("har pot")).containsExactly(3L);
+	}
+
+	@Test
+	void exactBeatsPrefixAndTitleBeatsAuthor() {
+		index.index(1L, "Notes", "Dune Society");        // exact author
+		index.index(2L, "Dunes of Arrakis", "Someone");  // prefix title
+		index.index(3L, "Dune", "Frank Herbert");        // exact title
+		index.index(4L, "Notes", "Dunesmith");           // prefix author
+
+		assertThat(index.search("dune")).containsExactly(3L, 2L, 1L);
+	}
+
+	@Test
+	void onlyTheBestMatchesAreKeptWithTiesInIdOrder() {
+		for (long id = 1; id <= 20; id++) {
+			index.index(id, "Algorithms " + id, "Author");
+		}
+		index.index(21L, "Notes", "Al Gore");
+		index.index(22L, "Al", "Somebody");
+
+		// Exact title first, then the equal-scored prefix titles by id; the author match is cut off
+		assertThat(index.search("al")).containsExactly(22L, 1L, 2L);
+	}
+
+	@Test
+	void caseFoldingDoesNotDependOnTheDefaultLocale() {
+		Locale previous = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			index.index(1L, "INTRODUCTION TO ALGORITHMS", "CORMEN");
+			assertThat(index.search("intro")).containsExactly(1L);
+		} finally {
+			Locale.setDefault(previous);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.Library_Book_Management.Books;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Library_Book_Management.Common.ResourceVersions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CatalogSnapshotTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BooksService booksService;
+
+	@Autowired
+	private CatalogSnapshot catalogSnapshot;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void catalogIsServedFromTheCompressedSnapshot() throws Exception {
+		booksService.addBooks(new Books("Snapshot Book", "Author", 2));
+		awaitSnapshot();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		byte[] body = mockMvc.perform(get("/book").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("Snapshot Book");
+		}
+
+		mockMvc.perform(get("/book"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(jsonPath("$[?(@.bookName == 'Snapshot Book')]").exists());
+	}
+
+	@Test
+	void gzipAndPlainRepresentationsHaveTheirOwnTags() throws Exception {
+		awaitSnapshot();
+		String gzipTag = mockMvc.perform(get("/book").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String plainTag = mockMvc.perform(get("/book").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(gzipTag).isEqualTo(CatalogSnapshot.gzipTag(plainTag));
+		mockMvc.perform(get("/book").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/book").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+				.andExpect(status().isOk());
+	}
+
+	// Rebuilds run on their own thread after commit
+	private void awaitSnapshot() throws InterruptedException {
+		for (int i = 0; i < 100 && catalogSnapshot.current(resourceVersions.catalogTag()) == null; i++) {
+			Thread.sleep(50);
+		}
+		assertThat(catalogSnapshot.current(resourceVersions.catalogTag())).isNotNull();
+	}
+}
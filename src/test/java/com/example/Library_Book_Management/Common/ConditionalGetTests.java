@@ -0,0 +1,148 @@
+package com.example.Library_Book_Management.Common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Books.BooksService;
+import com.example.Library_Book_Management.Books.CatalogSnapshot;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BooksService booksService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private CatalogSnapshot catalogSnapshot;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void catalogAnswersNotModifiedUntilABookChanges() throws Exception {
+		awaitSnapshot();
+		String etag = mockMvc.perform(get("/book"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("\"c-");
+
+		Statistics statistics = statistics();
+		mockMvc.perform(get("/book").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		booksService.addBooks(new Books("Etag Book", "Author", 1));
+		mockMvc.perform(get("/book").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	void historyAnswersNotModifiedUntilTheStudentsIssuesChange() throws Exception {
+		studentRepository.save(Student.builder().name("Etag Student").email("etag@test.local").rollNo("ETAG-1").build());
+		Books book = booksRepository.save(new Books("Etag History Book", "Author", 1));
+
+		String etag = mockMvc.perform(get("/issue/my-history").param("rollNo", "ETAG-1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		Statistics statistics = statistics();
+		mockMvc.perform(get("/issue/my-history").param("rollNo", "ETAG-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		bookIssueService.requestBook("ETAG-1", book.getId());
+		mockMvc.perform(get("/issue/my-history").param("rollNo", "ETAG-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].book.bookName").value("Etag History Book"));
+	}
+
+	@Test
+	void versionsAreSharedByEveryInstance() {
+		// A second instance on the same database, like another node behind the load balancer
+		ResourceVersions otherInstance = new ResourceVersions(dataSource, entityManager);
+		String catalog = resourceVersions.catalogTag();
+		String history = resourceVersions.historyTag(424_242L);
+		assertThat(otherInstance.catalogTag()).isEqualTo(catalog);
+
+		otherInstance.catalogChanged();
+		otherInstance.historyChanged(424_242L);
+		assertThat(resourceVersions.catalogTag()).isNotEqualTo(catalog);
+		assertThat(resourceVersions.historyTag(424_242L)).isNotEqualTo(history).isEqualTo(otherInstance.historyTag(424_242L));
+
+		// Bumps are part of the transaction: a rollback leaves the tag alone
+		String current = resourceVersions.catalogTag();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			resourceVersions.catalogChanged();
+			status.setRollbackOnly();
+		});
+		assertThat(resourceVersions.catalogTag()).isEqualTo(current);
+	}
+
+	// The catalog snapshot is rebuilt on its own thread; until then the catalog goes out untagged
+	private void awaitSnapshot() throws InterruptedException {
+		for (int i = 0; i < 100 && catalogSnapshot.current(resourceVersions.catalogTag()) == null; i++) {
+			Thread.sleep(50);
+		}
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
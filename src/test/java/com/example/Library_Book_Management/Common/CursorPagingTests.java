@@ -0,0 +1,108 @@
+package com.example.Library_Book_Management.Common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.BookIssue.BookIssueView;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursorPagingTests {
+
+	private final CursorPaging paging = new CursorPaging(50, 500);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void pageSizeIsDefaultedAndCapped() {
+		assertThat(paging.size(null)).isEqualTo(50);
+		assertThat(paging.size(0)).isEqualTo(50);
+		assertThat(paging.size(20)).isEqualTo(20);
+		assertThat(paging.size(10_000)).isEqualTo(500);
+		assertThat(paging.limit(20).max()).isEqualTo(21);
+	}
+
+	@Test
+	void cursorRoundTripsTheLastIdOfThePage() {
+		CursorPage<Long> first = paging.page(List.of(3L, 7L, 9L), 2, id -> id);
+		assertThat(first.getItems()).containsExactly(3L, 7L);
+		assertThat(first.getNextCursor()).isNotBlank();
+		assertThat(paging.afterId(first.getNextCursor())).isEqualTo(7L);
+
+		CursorPage<Long> last = paging.page(List.of(9L), 2, id -> id);
+		assertThat(last.getNextCursor()).isNull();
+		assertThat(paging.afterId(null)).isZero();
+		assertThat(paging.afterId(" ")).isZero();
+	}
+
+	@Test
+	void invalidCursorsAreRejected() {
+		assertThatThrownBy(() -> paging.afterId("not base64!")).isInstanceOf(IllegalStateException.class);
+		// Valid base64, but not an id
+		assertThatThrownBy(() -> paging.afterId("YWJj")).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@WithMockUser(authorities = "LIBRARIAN")
+	void walkingThePagesVisitsEveryIssueOnce() throws Exception {
+		studentRepository.save(Student.builder().name("Paging Student").email("paging@test.local").rollNo("PAGING-1").build());
+		Books book = booksRepository.save(new Books("Paging Book", "Author", 5));
+		for (int i = 0; i < 5; i++) {
+			bookIssueService.issueBookDirectlyByRollNo("PAGING-1", book.getId());
+		}
+
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			var request = get("/issue/all/page").param("size", "2");
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			assertThat(page.get("items").size()).isLessThanOrEqualTo(2);
+			page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+		} while (cursor != null);
+
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+		assertThat(ids).containsAll(bookIssueService.getStudentHistoryByRollNo("PAGING-1").stream()
+				.map(BookIssueView::getId).toList());
+
+		mockMvc.perform(get("/issue/all/page").param("cursor", "not base64!"))
+				.andExpect(status().isBadRequest());
+	}
+}
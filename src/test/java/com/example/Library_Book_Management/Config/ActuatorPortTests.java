@@ -0,0 +1,74 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.User;
+
+// Real servers: the application and actuator each on their own random port. Tests turn the
+// Prometheus registry off unless asked for, hence @AutoConfigureObservability.
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+class ActuatorPortTests {
+
+	@LocalServerPort
+	private int serverPort;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Test
+	void actuatorIsNotServedOnTheApplicationPort() {
+		String librarian = token("actuator-librarian@test.local", "LIBRARIAN");
+
+		assertThat(get(serverPort, "/actuator/health", null).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(get(serverPort, "/actuator/prometheus", null).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(get(serverPort, "/actuator/metrics", librarian).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void healthAndScrapeAreOpenOnTheManagementPort() {
+		assertThat(get(managementPort, "/actuator/health", null).getStatusCode()).isEqualTo(HttpStatus.OK);
+		ResponseEntity<String> scrape = get(managementPort, "/actuator/prometheus", null);
+		assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(scrape.getBody()).contains("jvm_memory_used_bytes");
+	}
+
+	@Test
+	void metricsAreForLibrariansOnly() {
+		assertThat(get(managementPort, "/actuator/metrics", null).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(get(managementPort, "/actuator/metrics", token("actuator-student@test.local", "STUDENT")).getStatusCode())
+				.isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(get(managementPort, "/actuator/metrics", token("actuator-librarian@test.local", "LIBRARIAN")).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+	}
+
+	private ResponseEntity<String> get(int port, String path, String token) {
+		HttpHeaders headers = new HttpHeaders();
+		if (token != null) {
+			headers.setBearerAuth(token);
+		}
+		return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+	}
+
+	private String token(String email, String role) {
+		return jwtService.generateToken(User.withUsername(email).password("").authorities(role).build());
+	}
+}
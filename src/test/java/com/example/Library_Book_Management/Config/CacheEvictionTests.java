@@ -0,0 +1,143 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksService;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CacheEvictionTests {
+
+	@Autowired
+	private BooksService booksService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void catalogIsServedFromCacheUntilABookChanges() {
+		booksService.getBooks();
+		assertThat(statementsFor(() -> booksService.getBooks())).isZero();
+
+		booksService.addBooks(new Books("Cache Book", "Cache Author", 2));
+		List<Books> afterAdd = booksService.getBooks();
+		assertThat(afterAdd).extracting(Books::getBookName).contains("Cache Book");
+
+		Long bookId = afterAdd.stream().filter(b -> "Cache Book".equals(b.getBookName())).findFirst().orElseThrow().getId();
+		Books rename = new Books();
+		rename.setBookName("Cache Book Renamed");
+		booksService.updateBooks(bookId, rename);
+		assertThat(booksService.getBooks()).extracting(Books::getBookName)
+				.contains("Cache Book Renamed")
+				.doesNotContain("Cache Book");
+
+		booksService.deleteBooks(bookId);
+		assertThat(booksService.getBooks()).extracting(Books::getId).doesNotContain(bookId);
+	}
+
+	@Test
+	void catalogShowsATitleAsBusyOnlyWhileNoCopyIsLeft() {
+		booksService.addBooks(new Books("Busy Book", "Busy Author", 2));
+		Long bookId = busyBook().getId();
+		studentService.addStudent(Student.builder().name("Busy A").email("busy-a@test.local").rollNo("BUSY-A").build());
+		studentService.addStudent(Student.builder().name("Busy B").email("busy-b@test.local").rollNo("BUSY-B").build());
+
+		bookIssueService.requestBook("BUSY-A", bookId);
+		assertThat(busyBook().getIsIssued()).isFalse();
+		// The first copy did not change what the catalog shows, so it is still cached
+		assertThat(statementsFor(() -> booksService.getBooks())).isZero();
+
+		BookIssue last = bookIssueService.requestBook("BUSY-B", bookId);
+		assertThat(busyBook().getIsIssued()).isTrue();
+
+		bookIssueService.rejectRequest(last.getId());
+		assertThat(busyBook().getIsIssued()).isFalse();
+	}
+
+	@Test
+	void studentLookupsAreCachedAndEvictedOnUpdate() {
+		Student student = studentService.addStudent(Student.builder()
+				.name("Cached Student")
+				.email("Cached@Test.local")
+				.rollNo("CACHE-1")
+				.department("CSE")
+				.build());
+
+		studentService.findByEmail("cached@test.local");
+		studentService.findByRollNo("CACHE-1");
+		assertThat(statementsFor(() -> studentService.findByEmail(" CACHED@test.local"))).isZero();
+		assertThat(statementsFor(() -> studentService.findByRollNo("CACHE-1"))).isZero();
+
+		Student update = new Student();
+		update.setName("Renamed Student");
+		studentService.updateStudent(student.getId(), update);
+
+		assertThat(studentService.findByEmail("cached@test.local")).get()
+				.extracting(Student::getName).isEqualTo("Renamed Student");
+		assertThat(studentService.findByRollNo("CACHE-1")).get()
+				.extracting(Student::getName).isEqualTo("Renamed Student");
+	}
+
+	@Test
+	void unknownStudentsAreNotCached() {
+		assertThat(studentService.findByRollNo("CACHE-LATER")).isEmpty();
+		studentService.addStudent(Student.builder()
+				.name("Late Student")
+				.email("late@test.local")
+				.rollNo("CACHE-LATER")
+				.build());
+		assertThat(studentService.findByRollNo("CACHE-LATER")).isPresent();
+	}
+
+	@Test
+	void cacheStatisticsArePublishedAsMetrics() {
+		booksService.getBooks();
+		booksService.getBooks();
+		assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.BOOKS).tag("result", "hit").functionCounter())
+				.isNotNull();
+		assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.STUDENTS_BY_EMAIL).functionCounter())
+				.isNotNull();
+	}
+
+	private Books busyBook() {
+		return booksService.getBooks().stream().filter(b -> "Busy Book".equals(b.getBookName())).findFirst().orElseThrow();
+	}
+
+	private long statementsFor(Runnable call) {
+		statistics.clear();
+		call.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
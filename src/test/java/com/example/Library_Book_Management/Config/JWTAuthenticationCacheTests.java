@@ -0,0 +1,111 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JWTAuthenticationCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${application.security.jwt.secret-key}")
+	private String secretKey;
+
+	@Test
+	void entriesExpireWithTheirToken() throws InterruptedException {
+		JWTAuthenticationCache cache = new JWTAuthenticationCache(100);
+		UserDetails principal = User.withUsername("cache@test.local").password("").authorities("STUDENT").build();
+
+		cache.put("short-lived", principal, new Date(System.currentTimeMillis() + 200));
+		cache.put("expired", principal, new Date(System.currentTimeMillis() - 1_000));
+		assertThat(cache.get("short-lived")).isEqualTo(principal);
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.get("never-seen")).isNull();
+
+		Thread.sleep(300);
+		assertThat(cache.get("short-lived")).isNull();
+	}
+
+	@Test
+	void aVerifiedTokenIsServedFromTheCacheAfterwards() throws Exception {
+		String token = jwtService.generateToken(
+				User.withUsername("jwt-cache@test.local").password("").authorities("STUDENT").build());
+		double verified = count("verified");
+		double cached = count("cached");
+
+		mockMvc.perform(get("/book").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+		mockMvc.perform(get("/book").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+
+		assertThat(count("verified")).isEqualTo(verified + 1);
+		assertThat(count("cached")).isEqualTo(cached + 1);
+	}
+
+	@Test
+	void invalidTokensAreRejectedAndNeverCached() throws Exception {
+		String valid = jwtService.generateToken(
+				User.withUsername("jwt-invalid@test.local").password("").authorities("LIBRARIAN").build());
+		String tampered = valid.substring(0, valid.length() - 2) + (valid.endsWith("AA") ? "BB" : "AA");
+		String expired = Jwts.builder()
+				.setSubject("jwt-expired@test.local")
+				.claim("role", "LIBRARIAN")
+				.setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+				.setExpiration(new Date(System.currentTimeMillis() - 60_000))
+				.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), SignatureAlgorithm.HS256)
+				.compact();
+		double invalid = count("invalid");
+
+		for (String token : new String[] {tampered, expired, "not-a-jwt", tampered}) {
+			mockMvc.perform(get("/book").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+					.andExpect(status().isForbidden());
+		}
+		assertThat(count("invalid")).isEqualTo(invalid + 4);
+	}
+
+	@Test
+	void tokensWithoutAnExpiryAreRejected() throws Exception {
+		String neverExpires = Jwts.builder()
+				.setSubject("jwt-no-exp@test.local")
+				.claim("role", "LIBRARIAN")
+				.setIssuedAt(new Date())
+				.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), SignatureAlgorithm.HS256)
+				.compact();
+		double invalid = count("invalid");
+
+		mockMvc.perform(get("/book").header(HttpHeaders.AUTHORIZATION, "Bearer " + neverExpires))
+				.andExpect(status().isForbidden());
+		assertThat(count("invalid")).isEqualTo(invalid + 1);
+	}
+
+	private double count(String result) {
+		Timer timer = meterRegistry.find("library.auth.jwt.filter").tag("result", result).timer();
+		return timer != null ? timer.count() : 0;
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ObservabilityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void circulationTransitionsAreTimed() {
+		studentRepository.save(Student.builder().name("Metrics Student").email("metrics@test.local").rollNo("METRICS-1").build());
+		Books book = booksRepository.save(new Books("Metrics Book", "Author", 1));
+
+		Long issueId = bookIssueService.requestBook("METRICS-1", book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+
+		Timer request = meterRegistry.find("library.circulation.transition").tag("transition", "request").timer();
+		Timer approve = meterRegistry.find("library.circulation.transition").tag("transition", "approve").timer();
+		assertThat(request).isNotNull();
+		assertThat(request.count()).isPositive();
+		assertThat(approve).isNotNull();
+		assertThat(approve.count()).isPositive();
+	}
+
+	@Test
+	@WithMockUser
+	void sqlStatementsAreCountedPerEndpoint() throws Exception {
+		mockMvc.perform(get("/issue/pending")).andExpect(status().isOk());
+
+		DistributionSummary statements = meterRegistry.find("library.http.sql.statements")
+				.tag("uri", "/issue/pending")
+				.summary();
+		assertThat(statements).isNotNull();
+		assertThat(statements.count()).isPositive();
+		assertThat(statements.max()).isEqualTo(1);
+	}
+}
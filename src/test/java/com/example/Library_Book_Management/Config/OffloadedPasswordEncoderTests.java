@@ -0,0 +1,94 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A cost factor of 15 takes long enough for every hash to still be running when the test looks
+@SpringBootTest(properties = {
+		"library.security.bcrypt.strength=15",
+		"library.security.bcrypt.max-wait-ms=1"
+})
+@AutoConfigureMockMvc
+class OffloadedPasswordEncoderTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void encodeAndMatchesRunOnThePool() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(4, 1, 4, 10_000, registry);
+		try {
+			String hash = encoder.encode("secret");
+			assertThat(encoder.matches("secret", hash)).isTrue();
+			assertThat(encoder.matches("wrong", hash)).isFalse();
+
+			// The timers are recorded inside the pooled task
+			assertThat(registry.get("library.auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+			assertThat(registry.get("library.auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+		} finally {
+			encoder.shutdown();
+		}
+	}
+
+	@Test
+	void aFullQueueFailsFastWithBusy() throws Exception {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(15, 1, 1, 60_000, registry);
+		try {
+			// One hash running, one queued
+			CompletableFuture.runAsync(() -> encoder.encode("first"));
+			awaitGauge(registry, "library.auth.password.active", 1);
+			CompletableFuture.runAsync(() -> encoder.encode("second"));
+			awaitGauge(registry, "library.auth.password.queue.depth", 1);
+
+			long start = System.nanoTime();
+			assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingBusyException.class);
+			assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+			assertThat(registry.get("library.auth.password.rejected").counter().count()).isEqualTo(1);
+		} finally {
+			encoder.shutdown();
+		}
+	}
+
+	@Test
+	void aHashThatTakesTooLongIsRefusedInsteadOfHoldingTheCaller() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(15, 1, 4, 50, registry);
+		try {
+			assertThatThrownBy(() -> encoder.encode("slow")).isInstanceOf(PasswordHashingBusyException.class);
+			assertThat(registry.get("library.auth.password.rejected").counter().count()).isEqualTo(1);
+		} finally {
+			encoder.shutdown();
+		}
+	}
+
+	@Test
+	void saturatedLoginIsA429NotBadCredentials() throws Exception {
+		mockMvc.perform(post("/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"busy@test.local\",\"password\":\"secret\"}"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	private void awaitGauge(MeterRegistry registry, String name, double value) throws InterruptedException {
+		for (int i = 0; i < 200 && registry.get(name).gauge().value() != value; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(registry.get(name).gauge().value()).isEqualTo(value);
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Books.BooksService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The split wired into the application, with the "replica" being the same embedded database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:replica-wiring;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"library.replica.urls=jdbc:h2:mem:replica-wiring;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"library.replica.lag-query=SELECT 0"
+})
+class ReadReplicaConfigTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private BooksService booksService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void repositoryReadsUseTheReplicaAndCacheFillsThePrimary() {
+		assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+		Books book = booksRepository.save(new Books("Replica Book", "Author", 1));
+
+		double replicaBefore = reads("replica");
+		assertThat(booksRepository.findById(book.getId())).isPresent();
+		assertThat(reads("replica")).isEqualTo(replicaBefore + 1);
+
+		double primaryBefore = reads("primary");
+		assertThat(booksService.getBooks()).extracting(Books::getBookName).contains("Replica Book");
+		assertThat(reads("primary")).isGreaterThan(primaryBefore);
+	}
+
+	@Test
+	void bothPoolsReportTheirMetrics() {
+		assertThat(meterRegistry.find("hikaricp.connections.max").gauges())
+				.extracting(gauge -> gauge.getId().getTag("pool"))
+				.contains("primary", "replica-0");
+	}
+
+	private double reads(String target) {
+		return meterRegistry.get("library.datasource.reads").tag("target", target).counter().count();
+	}
+}
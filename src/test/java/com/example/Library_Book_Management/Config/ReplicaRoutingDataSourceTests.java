@@ -0,0 +1,128 @@
+package com.example.Library_Book_Management.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Routing between two embedded databases standing in for a primary and its replica
+class ReplicaRoutingDataSourceTests {
+
+	private final DataSource primary = database("primary");
+	private final DataSource replica = database("replica");
+
+	@AfterEach
+	void clearUser() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		Routing routing = routing(Map.of("replica-0", replica));
+
+		assertThat(routing.read()).isEqualTo("replica");
+		assertThat(routing.write()).isEqualTo("primary");
+		assertThat(routing.jdbc.queryForObject("SELECT name FROM whoami", String.class)).isEqualTo("primary");
+		assertThat(ReadRouting.onPrimary(routing::read)).isEqualTo("primary");
+	}
+
+	@Test
+	void usersReadTheirOwnWritesFromThePrimary() {
+		Routing routing = routing(Map.of("replica-0", replica));
+
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer@test.local", null, "STUDENT"));
+		routing.write();
+		assertThat(routing.read()).isEqualTo("primary");
+
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("reader@test.local", null, "STUDENT"));
+		assertThat(routing.read()).isEqualTo("replica");
+	}
+
+	@Test
+	void unhealthyReplicasAreSkippedUntilTheyRecover() {
+		DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/none", "sa", "");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-0", unreachable);
+		replicas.put("replica-1", replica);
+		Routing routing = routing(replicas);
+
+		// A failed connection falls back to the primary at once and takes the replica out of rotation
+		assertThat(routing.read()).isIn("primary", "replica");
+		assertThat(routing.read()).isIn("primary", "replica");
+		assertThat(routing.read()).isEqualTo("replica");
+		assertThat(routing.read()).isEqualTo("replica");
+
+		// Lag above the limit takes the other one out too
+		new JdbcTemplate(replica).update("UPDATE lag_probe SET lag_ms = 60000");
+		routing.dataSource.checkReplicas();
+		assertThat(routing.read()).isEqualTo("primary");
+
+		new JdbcTemplate(replica).update("UPDATE lag_probe SET lag_ms = 0");
+		routing.dataSource.checkReplicas();
+		assertThat(routing.read()).isEqualTo("replica");
+
+		// Cut off from the primary: caught up with what it received, but that says nothing
+		new JdbcTemplate(replica).update("UPDATE lag_probe SET lag_ms = -1");
+		routing.dataSource.checkReplicas();
+		assertThat(routing.read()).isEqualTo("primary");
+	}
+
+	private Routing routing(Map<String, DataSource> replicas) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, 5_000, 10_000,
+				"SELECT lag_ms FROM lag_probe", new SimpleMeterRegistry());
+		return new Routing(routing, new LazyConnectionDataSourceProxy(routing));
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+		jdbc.update("INSERT INTO whoami VALUES (?)", name);
+		jdbc.execute("CREATE TABLE lag_probe (lag_ms BIGINT)");
+		jdbc.update("INSERT INTO lag_probe VALUES (0)");
+		return dataSource;
+	}
+
+	private static final class Routing {
+		private final ReplicaRoutingDataSource dataSource;
+		private final JdbcTemplate jdbc;
+		private final TransactionTemplate readOnly;
+		private final TransactionTemplate readWrite;
+
+		private Routing(ReplicaRoutingDataSource dataSource, DataSource proxy) {
+			this.dataSource = dataSource;
+			this.jdbc = new JdbcTemplate(proxy);
+			DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+			this.readOnly = new TransactionTemplate(transactionManager);
+			this.readOnly.setReadOnly(true);
+			this.readWrite = new TransactionTemplate(transactionManager);
+		}
+
+		String read() {
+			return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+		}
+
+		String write() {
+			return readWrite.execute(status -> {
+				jdbc.update("UPDATE whoami SET name = name");
+				return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+			});
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.Library_Book_Management.Fine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssue;
+import com.example.Library_Book_Management.BookIssue.BookIssueBulkService;
+import com.example.Library_Book_Management.BookIssue.BookIssueRepository;
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.BookIssue.BulkIssueRequest;
+import com.example.Library_Book_Management.BookIssue.BulkResult;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest(properties = "library.fines.daily-rate=2.50")
+class FineServiceTests {
+
+	@Autowired
+	private FineService fineService;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BookIssueBulkService bookIssueBulkService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void accruesIncrementallyAndFinalizesOnReturn() {
+		Student student = student("FINE-1");
+		Books book = booksRepository.save(new Books("Fine Book", "Author", 2));
+		LocalDate today = LocalDate.now();
+		Long issueId = overdueIssue(student, book, today.minusDays(3));
+
+		fineService.accrue(today.minusDays(2));
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("2.50");
+
+		// Same day again charges nothing; the next run only adds the new day
+		fineService.accrue(today.minusDays(2));
+		fineService.accrue(today.minusDays(1));
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("5.00");
+
+		bookIssueService.returnBook(issueId);
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("7.50");
+
+		// Returned issues are no longer charged
+		fineService.accrue(today.plusDays(1));
+		FineSummary summary = fineService.summary(student.getId(), null);
+		assertThat(summary.getOutstanding()).isEqualByComparingTo("7.50");
+		assertThat(summary.getEntries()).extracting(FineEntry::getType)
+				.containsExactly(FineEntryType.RETURN, FineEntryType.ACCRUAL, FineEntryType.ACCRUAL);
+		assertThat(summary.getEntries()).extracting(FineEntry::getAmount)
+				.map(BigDecimal::stripTrailingZeros)
+				.containsOnly(new BigDecimal("2.5"));
+	}
+
+	@Test
+	void unpaidFinesBlockBorrowingUntilPaid() {
+		Student student = student("FINE-2");
+		Books book = booksRepository.save(new Books("Blocked Book", "Author", 3));
+		Long issueId = overdueIssue(student, book, LocalDate.now().minusDays(4));
+		bookIssueService.returnBook(issueId);
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("10.00");
+
+		assertThatThrownBy(() -> bookIssueService.requestBook("FINE-2", book.getId()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Outstanding fines");
+		BulkResult bulk = bookIssueBulkService.issueBooks(List.of(new BulkIssueRequest.Item("FINE-2", book.getId())));
+		assertThat(bulk.getResults().get(0).isSuccess()).isFalse();
+		// The refused borrows did not keep a copy
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isEqualTo(3);
+
+		assertThatThrownBy(() -> fineService.pay(student.getId(), new BigDecimal("20.00")))
+				.isInstanceOf(IllegalStateException.class);
+		fineService.pay(student.getId(), new BigDecimal("4.00"));
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("6.00");
+		FineSummary paid = fineService.pay(student.getId(), new BigDecimal("6.00"));
+		assertThat(paid.getOutstanding()).isEqualByComparingTo("0");
+		assertThat(paid.getEntries().get(0).getType()).isEqualTo(FineEntryType.PAYMENT);
+
+		assertThat(bookIssueService.requestBook("FINE-2", book.getId()).getStatus()).isEqualTo(IssueStatus.REQUESTED);
+	}
+
+	@Test
+	void bulkReturnChargesTheRemainingDays() {
+		Student student = student("FINE-3");
+		Books book = booksRepository.save(new Books("Bulk Fine Book", "Author", 2));
+		LocalDate today = LocalDate.now();
+		Long late = overdueIssue(student, book, today.minusDays(2));
+		Long onTime = overdueIssue(student, book, today.plusDays(5));
+		fineService.accrue(today.minusDays(1));
+
+		bookIssueBulkService.returnBooks(List.of(late, onTime));
+
+		assertThat(fineService.outstanding(student.getId())).isEqualByComparingTo("5.00");
+		assertThat(bookIssueRepository.findById(late).orElseThrow().getFineAccruedThrough()).isEqualTo(today);
+	}
+
+	private Student student(String rollNo) {
+		return studentRepository.save(Student.builder()
+				.name("Fine Student " + rollNo)
+				.email(rollNo.toLowerCase() + "@test.local")
+				.rollNo(rollNo)
+				.build());
+	}
+
+	// A checked-out copy with the given due date (OVERDUE if it is in the past)
+	private Long overdueIssue(Student student, Books book, LocalDate dueDate) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> booksRepository.reserveCopy(book.getId()));
+		BookIssue issue = new BookIssue();
+		issue.setStudent(student);
+		issue.setBook(book);
+		issue.setStatus(dueDate.isBefore(LocalDate.now()) ? IssueStatus.OVERDUE : IssueStatus.ISSUED);
+		issue.setIssueDate(dueDate.minusDays(14));
+		issue.setDueDate(dueDate);
+		return bookIssueRepository.save(issue).getId();
+	}
+}
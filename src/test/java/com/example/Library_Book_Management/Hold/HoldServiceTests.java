@@ -0,0 +1,159 @@
+package com.example.Library_Book_Management.Hold;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueBulkService;
+import com.example.Library_Book_Management.BookIssue.BookIssueRepository;
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Fine.FineCharge;
+import com.example.Library_Book_Management.Fine.FineEntryType;
+import com.example.Library_Book_Management.Fine.FineService;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest
+class HoldServiceTests {
+
+	@Autowired
+	private HoldService holdService;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BookIssueBulkService bookIssueBulkService;
+
+	@Autowired
+	private BookIssueRepository bookIssueRepository;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private FineService fineService;
+
+	@Test
+	void returnedCopyGoesToTheHeadOfTheQueue() {
+		student("HOLD-1");
+		Student second = student("HOLD-2");
+		student("HOLD-3");
+		Books book = booksRepository.save(new Books("Hold Book", "Author", 1));
+		Long issueId = bookIssueService.requestBook("HOLD-1", book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+
+		assertThatThrownBy(() -> holdService.placeHold("HOLD-1", booksRepository.save(new Books("Free Book", "Author", 1)).getId()))
+				.isInstanceOf(IllegalStateException.class);
+		HoldView first = holdService.placeHold("HOLD-2", book.getId());
+		HoldView next = holdService.placeHold("HOLD-3", book.getId());
+		assertThat(first.getPosition()).isEqualTo(1);
+		assertThat(next.getPosition()).isEqualTo(2);
+		assertThatThrownBy(() -> holdService.placeHold("HOLD-3", book.getId()))
+				.isInstanceOf(IllegalStateException.class);
+
+		DeferredResult<HoldView> waiting = holdService.awaitPromotion(first.getHoldId(), "HOLD-2", 60_000L);
+		assertThat(waiting.hasResult()).isFalse();
+		// Another student cannot wait on (or learn anything about) someone else's hold
+		assertThat(holdService.awaitPromotion(first.getHoldId(), "HOLD-3", 60_000L).getResult())
+				.isInstanceOfSatisfying(ResponseEntity.class, error -> assertThat(error.getStatusCode().value()).isEqualTo(404));
+
+		bookIssueService.returnBook(issueId);
+
+		// The copy went straight to the first hold, which the long poll hears about
+		assertThat(waiting.getResult()).isInstanceOfSatisfying(HoldView.class, view -> {
+			assertThat(view.getStatus()).isEqualTo(HoldStatus.PROMOTED);
+			assertThat(view.getIssueId()).isNotNull();
+		});
+		Long promotedIssue = ((HoldView) waiting.getResult()).getIssueId();
+		assertThat(bookIssueRepository.findById(promotedIssue).orElseThrow()).satisfies(issue -> {
+			assertThat(issue.getStatus()).isEqualTo(IssueStatus.REQUESTED);
+			assertThat(issue.getStudent().getId()).isEqualTo(second.getId());
+		});
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+		assertThat(holdService.getWaitingHolds("HOLD-3")).extracting(HoldView::getPosition).containsExactly(1);
+
+		// Rejecting the promoted request hands the copy to the next in line
+		bookIssueService.rejectRequest(promotedIssue);
+		assertThat(holdService.getWaitingHolds("HOLD-3")).isEmpty();
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+	}
+
+	@Test
+	void cancelledHoldsLeaveTheQueueAndBulkReturnsPromote() {
+		student("HOLD-4");
+		student("HOLD-5");
+		student("HOLD-6");
+		Books book = booksRepository.save(new Books("Bulk Hold Book", "Author", 1));
+		Long issueId = bookIssueService.requestBook("HOLD-4", book.getId()).getId();
+
+		HoldView cancelled = holdService.placeHold("HOLD-5", book.getId());
+		HoldView kept = holdService.placeHold("HOLD-6", book.getId());
+		holdService.cancelHold(cancelled.getHoldId(), "HOLD-5");
+		assertThat(holdService.getWaitingHolds("HOLD-6")).extracting(HoldView::getPosition).containsExactly(1);
+
+		bookIssueBulkService.returnBooks(List.of(issueId));
+
+		DeferredResult<HoldView> done = holdService.awaitPromotion(kept.getHoldId(), "HOLD-6", 1_000L);
+		assertThat(done.getResult()).isInstanceOfSatisfying(HoldView.class,
+				view -> assertThat(view.getStatus()).isEqualTo(HoldStatus.PROMOTED));
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+	}
+
+	@Test
+	void holdsOfBlockedStudentsAreCancelledAndTheNextOneIsPromoted() {
+		Student first = student("HOLD-7");
+		Student blocked = student("HOLD-8");
+		Student next = student("HOLD-9");
+		Books book = booksRepository.save(new Books("Fined Hold Book", "Author", 1));
+		Long issueId = bookIssueService.requestBook("HOLD-7", book.getId()).getId();
+
+		HoldView skipped = holdService.placeHold("HOLD-8", book.getId());
+		HoldView promoted = holdService.placeHold("HOLD-9", book.getId());
+		DeferredResult<HoldView> waiting = holdService.awaitPromotion(skipped.getHoldId(), "HOLD-8", 60_000L);
+		fine(blocked);
+
+		bookIssueService.returnBook(issueId);
+
+		assertThat(waiting.getResult()).isInstanceOfSatisfying(HoldView.class,
+				view -> assertThat(view.getStatus()).isEqualTo(HoldStatus.CANCELLED));
+		HoldView done = (HoldView) holdService.awaitPromotion(promoted.getHoldId(), "HOLD-9", 1_000L).getResult();
+		assertThat(done.getStatus()).isEqualTo(HoldStatus.PROMOTED);
+		assertThat(bookIssueRepository.findById(done.getIssueId()).orElseThrow().getStudent().getId()).isEqualTo(next.getId());
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isZero();
+
+		// Nobody left who may borrow: the copy goes back on the shelf
+		Long secondIssue = done.getIssueId();
+		holdService.placeHold("HOLD-7", book.getId());
+		fine(first);
+		bookIssueService.rejectRequest(secondIssue);
+		assertThat(holdService.getWaitingHolds("HOLD-7")).isEmpty();
+		assertThat(booksRepository.findById(book.getId()).orElseThrow().getAvailableCopies()).isEqualTo(1);
+	}
+
+	private void fine(Student student) {
+		fineService.record(List.of(new FineCharge(student.getId(), null, FineEntryType.ACCRUAL, new BigDecimal("5.00"), null)));
+	}
+
+	private Student student(String rollNo) {
+		return studentRepository.save(Student.builder()
+				.name("Hold Student " + rollNo)
+				.email(rollNo.toLowerCase() + "@test.local")
+				.rollNo(rollNo)
+				.build());
+	}
+}
@@ -0,0 +1,170 @@
+package com.example.Library_Book_Management.Outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.BookIssue.CirculationEvent;
+import com.example.Library_Book_Management.BookIssue.CirculationEventType;
+import com.example.Library_Book_Management.BookIssue.IssueStatus;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest
+class OutboxRelayTests {
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private RecordingSink sink;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void transitionsAreDeliveredInOrderOnceCommitted() {
+		studentRepository.save(Student.builder().name("Outbox Student").email("outbox@test.local").rollNo("OUTBOX-1").build());
+		Books book = booksRepository.save(new Books("Outbox Book", "Author", 1));
+
+		Long issueId = bookIssueService.requestBook("OUTBOX-1", book.getId()).getId();
+		bookIssueService.approveIssue(issueId);
+		// Rolled back: no copy left, so nothing reaches the outbox
+		assertThatThrownBy(() -> bookIssueService.requestBook("OUTBOX-1", book.getId()))
+				.isInstanceOf(IllegalStateException.class);
+		bookIssueService.returnBook(issueId);
+
+		outboxRelay.drain();
+
+		assertThat(sink.forBook(book.getId())).extracting(OutboxEntry::getEventType)
+				.containsExactly(CirculationEventType.CREATED, CirculationEventType.APPROVED, CirculationEventType.RETURNED);
+		assertThat(sink.forBook(book.getId()).get(0).getPayload()).contains("\"issueId\":" + issueId);
+		assertThat(outboxRelay.drain()).isZero();
+	}
+
+	@Test
+	void aFailingBookIsHeldBackWithoutBlockingOthers() {
+		studentRepository.save(Student.builder().name("Outbox Student 2").email("outbox2@test.local").rollNo("OUTBOX-2").build());
+		Books failing = booksRepository.save(new Books("Outbox Failing Book", "Author", 2));
+		Books healthy = booksRepository.save(new Books("Outbox Healthy Book", "Author", 1));
+
+		sink.failFor(failing.getId());
+		Long first = bookIssueService.requestBook("OUTBOX-2", failing.getId()).getId();
+		bookIssueService.requestBook("OUTBOX-2", healthy.getId());
+		bookIssueService.rejectRequest(first);
+
+		outboxRelay.drain();
+		assertThat(sink.forBook(failing.getId())).isEmpty();
+		assertThat(sink.forBook(healthy.getId())).hasSize(1);
+
+		sink.recover(failing.getId());
+		outboxRelay.drain();
+		assertThat(sink.forBook(failing.getId())).extracting(OutboxEntry::getEventType)
+				.containsExactly(CirculationEventType.CREATED, CirculationEventType.REJECTED);
+	}
+
+	@Test
+	void aSecondWriterForTheSameBookWaitsForTheFirstCommit() throws Exception {
+		Books book = booksRepository.save(new Books("Outbox Ordered Book", "Author", 2));
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch inserted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// The first writer has inserted its entry and is held just before commit
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+			eventPublisher.publishEvent(CirculationEvent.of(CirculationEventType.CREATED, -1L, book.getId(), IssueStatus.REQUESTED));
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void beforeCommit(boolean readOnly) {
+					inserted.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}));
+		assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+				eventPublisher.publishEvent(CirculationEvent.of(CirculationEventType.APPROVED, -1L, book.getId(), IssueStatus.ISSUED))));
+		Thread.sleep(300);
+		assertThat(second).isNotDone();
+
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		outboxRelay.drain();
+		assertThat(sink.forBook(book.getId())).extracting(OutboxEntry::getEventType)
+				.containsExactly(CirculationEventType.CREATED, CirculationEventType.APPROVED);
+	}
+
+	@TestConfiguration
+	static class SinkConfig {
+
+		@Bean
+		RecordingSink recordingSink() {
+			return new RecordingSink();
+		}
+	}
+
+	static class RecordingSink implements CirculationSink {
+
+		private final List<OutboxEntry> received = new CopyOnWriteArrayList<>();
+		private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void deliver(OutboxEntry entry) {
+			if (failing.contains(entry.getBookId())) {
+				throw new IllegalStateException("Sink unavailable");
+			}
+			received.add(entry);
+		}
+
+		List<OutboxEntry> forBook(Long bookId) {
+			return received.stream().filter(e -> bookId.equals(e.getBookId())).toList();
+		}
+
+		void failFor(Long bookId) {
+			failing.add(bookId);
+		}
+
+		void recover(Long bookId) {
+			failing.remove(bookId);
+		}
+	}
+}
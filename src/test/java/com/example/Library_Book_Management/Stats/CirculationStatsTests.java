@@ -0,0 +1,130 @@
+package com.example.Library_Book_Management.Stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Library_Book_Management.BookIssue.BookIssueService;
+import com.example.Library_Book_Management.BookIssue.CirculationEventType;
+import com.example.Library_Book_Management.Books.Books;
+import com.example.Library_Book_Management.Books.BooksRepository;
+import com.example.Library_Book_Management.Outbox.OutboxEntry;
+import com.example.Library_Book_Management.Outbox.OutboxRelay;
+import com.example.Library_Book_Management.Student.Student;
+import com.example.Library_Book_Management.Student.StudentRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CirculationStatsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CirculationStats circulationStats;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private BookIssueService bookIssueService;
+
+	@Autowired
+	private BooksRepository booksRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@WithMockUser(authorities = "LIBRARIAN")
+	void borrowsAndReturnsAreRolledUpByBookDepartmentAndMonth() throws Exception {
+		studentRepository.save(Student.builder().name("Stats Student").email("stats@test.local").rollNo("STATS-1").department("Statistics").build());
+		studentRepository.save(Student.builder().name("Stats Student 2").email("stats2@test.local").rollNo("STATS-2").department("Stats Physics").build());
+		Books popular = booksRepository.save(new Books("Stats Popular Book", "Author", 3));
+		Books other = booksRepository.save(new Books("Stats Other Book", "Author", 3));
+
+		bookIssueService.issueBookDirectlyByRollNo("STATS-1", popular.getId());
+		Long requested = bookIssueService.requestBook("STATS-2", popular.getId()).getId();
+		bookIssueService.approveIssue(requested);
+		bookIssueService.returnBook(requested);
+		// A request that is rejected never becomes a borrow
+		bookIssueService.rejectRequest(bookIssueService.requestBook("STATS-1", other.getId()).getId());
+		bookIssueService.issueBookDirectlyByRollNo("STATS-1", other.getId());
+		outboxRelay.drain();
+
+		YearMonth now = YearMonth.now();
+		// The context is shared with other test classes, so only this test's rows are checked
+		assertThat(circulationStats.topBooks(now, now, 100))
+				.filteredOn(row -> row.bookId().equals(popular.getId()) || row.bookId().equals(other.getId()))
+				.containsExactly(
+						new BookBorrows(popular.getId(), "Stats Popular Book", "Author", 2),
+						new BookBorrows(other.getId(), "Stats Other Book", "Author", 1));
+		assertThat(circulationStats.departments(now, now)).contains(
+				new DepartmentUsage("Statistics", 2, 0),
+				new DepartmentUsage("Stats Physics", 1, 1));
+		assertThat(circulationStats.monthly(now.minusMonths(2), now, popular.getId(), null)).containsExactly(
+				new MonthlyCount(now.minusMonths(2), 0, 0),
+				new MonthlyCount(now.minusMonths(1), 0, 0),
+				new MonthlyCount(now, 2, 1));
+
+		// A redelivered entry is not counted again
+		OutboxEntry again = new OutboxEntry(Long.MAX_VALUE, other.getId(), requested, CirculationEventType.RETURNED, "{}", LocalDateTime.now());
+		circulationStats.deliver(again);
+		circulationStats.deliver(again);
+		assertThat(circulationStats.monthly(now, now, other.getId(), null)).containsExactly(new MonthlyCount(now, 1, 1));
+
+		mockMvc.perform(get("/stats/monthly").param("from", now.toString()).param("department", "Statistics"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].month").value(now.toString()))
+				.andExpect(jsonPath("$[0].borrows").value(2));
+	}
+
+	@Test
+	void rebuildMatchesTheIssueTable() {
+		studentRepository.save(Student.builder().name("Rebuild Student").email("rebuild@test.local").rollNo("STATS-3").department("Rebuild").build());
+		Books book = booksRepository.save(new Books("Stats Rebuild Book", "Author", 2));
+		bookIssueService.issueBookDirectlyByRollNo("STATS-3", book.getId());
+		bookIssueService.issueBookDirectlyByRollNo("STATS-3", book.getId());
+
+		// Not drained yet: the rebuild counts these from book_issue and marks their entries as applied
+		circulationStats.rebuild();
+		outboxRelay.drain();
+
+		YearMonth now = YearMonth.now();
+		assertThat(circulationStats.monthly(now, now, null, "Rebuild")).containsExactly(new MonthlyCount(now, 2, 0));
+	}
+
+	@Test
+	void entriesOfArchivedIssuesKeepTheirDepartment() {
+		studentRepository.save(Student.builder().name("Archived Stats Student").email("stats-archived@test.local").rollNo("STATS-4").department("Archived Stats").build());
+		Books book = booksRepository.save(new Books("Stats Archived Book", "Author", 1));
+		bookIssueService.issueBookDirectlyByRollNo("STATS-4", book.getId());
+		Long issueId = jdbcTemplate.queryForObject("SELECT id FROM book_issue WHERE books_id = ?", Long.class, book.getId());
+		bookIssueService.returnBook(issueId);
+
+		// Archived before the relay got to its entries
+		jdbcTemplate.update("INSERT INTO book_issue_archive (id, student_id, books_id, request_date, issue_date, due_date, return_date, "
+				+ "status, fine_accrued_through, archived_at) SELECT id, student_id, books_id, request_date, issue_date, due_date, "
+				+ "return_date, status, fine_accrued_through, CURRENT_TIMESTAMP FROM book_issue WHERE id = ?", issueId);
+		jdbcTemplate.update("DELETE FROM book_issue WHERE id = ?", issueId);
+		outboxRelay.drain();
+
+		YearMonth now = YearMonth.now();
+		assertThat(circulationStats.monthly(now, now, null, "Archived Stats")).containsExactly(new MonthlyCount(now, 1, 1));
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.Library_Book_Management.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Runs the real migrations on PostgreSQL and checks the login/profile lookups use an index (skipped without Docker)
+@SpringBootTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=none"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmailLookupIndexTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.execute("""
+				INSERT INTO users (firstname, lastname, email, password, role)
+				SELECT 'First', 'Last', 'user' || g || '@test.local', 'x', 'STUDENT'
+				FROM generate_series(1, 50000) g
+				""");
+		jdbcTemplate.execute("""
+				INSERT INTO students (name, email, roll_no, department)
+				SELECT 'Student ' || g, 'user' || g || '@test.local', 'R' || g, 'CSE'
+				FROM generate_series(1, 50000) g
+				""");
+		jdbcTemplate.execute("ANALYZE users");
+		jdbcTemplate.execute("ANALYZE students");
+	}
+
+	@Test
+	void userLoginLookupUsesIndex() {
+		assertIndexScan("SELECT * FROM users WHERE email = 'user4242@test.local'", "ux_users_email");
+		assertThat(userRepo.findByEmail(User.normalizeEmail("  USER4242@test.local "))).isPresent();
+	}
+
+	@Test
+	void studentLookupsUseIndexes() {
+		assertIndexScan("SELECT * FROM students WHERE email = 'user4242@test.local'", "ux_students_email");
+		assertIndexScan("SELECT * FROM students WHERE roll_no = 'R4242'", "ux_students_roll_no");
+	}
+
+	private void assertIndexScan(String query, String index) {
+		List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+		assertThat(String.join("\n", plan))
+				.contains(index)
+				.doesNotContain("Seq Scan");
+	}
+}